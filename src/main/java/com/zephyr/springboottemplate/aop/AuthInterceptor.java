@@ -2,32 +2,74 @@ package com.zephyr.springboottemplate.aop;
 
 import com.zephyr.springboottemplate.common.ErrorCode;
 import com.zephyr.springboottemplate.exception.BusinessException;
-import com.zephyr.springboottemplate.model.entity.User;
+import com.zephyr.springboottemplate.model.dto.user.UserPrincipal;
 import com.zephyr.springboottemplate.model.enums.UserRoleEnum;
 import com.zephyr.springboottemplate.service.UserService;
 import com.zephyr.springboottemplate.annotation.AuthCheck;
 import jakarta.annotation.Resource;
 import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.stereotype.Component;
 import org.springframework.web.context.request.RequestAttributes;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 权限校验拦截器
  *
  * 使用AOP拦截带有@AuthCheck注解的方法，校验用户是否具有指定的权限。
+ * <p>
+ * 启动时将所有接口方法上 @AuthCheck 的 mustRole 预先解析为校验规则（方法 -> {@link Decision}），
+ * 请求时按方法直接查表（非接口方法首次调用时解析并缓存）；
+ * 用户角色取自只含 ID 与角色的登录身份缓存，管理员接口不会在每次调用时额外查库。
+ * </p>
  */
 @Aspect
 @Component
-public class AuthInterceptor {
+@Slf4j
+public class AuthInterceptor implements SmartInitializingSingleton {
 
     @Resource
     private UserService userService;
 
+    @Resource
+    private ApplicationContext applicationContext;
+
+    /**
+     * 方法 -> 校验规则
+     */
+    private final Map<Method, Decision> decisionMap = new ConcurrentHashMap<>();
+
+    /**
+     * 启动时预先解析所有接口方法的校验规则
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (RequestMappingHandlerMapping handlerMapping : applicationContext.getBeansOfType(RequestMappingHandlerMapping.class).values()) {
+            for (HandlerMethod handlerMethod : handlerMapping.getHandlerMethods().values()) {
+                AuthCheck authCheck = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getMethod(), AuthCheck.class);
+                if (authCheck != null) {
+                    decisionMap.put(handlerMethod.getMethod(), resolveDecision(handlerMethod.getMethod(), authCheck));
+                }
+            }
+        }
+        log.info("auth check decisions resolved, size {}", decisionMap.size());
+    }
+
     /**
      * 拦截方法并进行权限校验
      *
@@ -38,45 +80,81 @@ public class AuthInterceptor {
      */
     @Around("@annotation(authCheck)")
     public Object doInterceptor(ProceedingJoinPoint joinPoint, AuthCheck authCheck) throws Throwable {
-        // 从注解中获取必须的角色
-        String mustRole = authCheck.mustRole();
+        // 查询方法的校验规则
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Decision decision = decisionMap.computeIfAbsent(method, key -> resolveDecision(key, authCheck));
 
         // 获取当前请求对象
         RequestAttributes requestAttributes = RequestContextHolder.currentRequestAttributes();
         HttpServletRequest request = ((ServletRequestAttributes) requestAttributes).getRequest();
 
-        // 获取当前登录用户信息
-        User loginUser = userService.getLoginUser(request);
+        // 获取当前登录用户身份（未登录时抛出异常）
+        UserPrincipal principal = userService.getLoginPrincipal(request);
 
-        // 获取必须具备的角色枚举
-        UserRoleEnum mustRoleEnum = UserRoleEnum.getEnumByValue(mustRole);
+        // 校验用户角色，通过后执行被拦截的方法
+        if (!decision.permit(principal.role())) {
+            throw new BusinessException(ErrorCode.NO_AUTH_ERROR);
+        }
+        return joinPoint.proceed();
+    }
 
-        // 如果方法不需要特定权限，直接放行
+    /**
+     * 将 mustRole 解析为校验规则
+     */
+    private Decision resolveDecision(Method method, AuthCheck authCheck) {
+        String mustRole = authCheck.mustRole();
+        UserRoleEnum mustRoleEnum = UserRoleEnum.getEnumByValue(mustRole);
         if (mustRoleEnum == null) {
-            return joinPoint.proceed();
+            if (StringUtils.isNotEmpty(mustRole)) {
+                // 无法识别的角色按只需登录处理，与原有行为一致
+                log.warn("unknown mustRole {} on {}, only login is required", mustRole, method);
+            }
+            return Decision.LOGIN;
         }
+        return UserRoleEnum.ADMIN.equals(mustRoleEnum) ? Decision.ADMIN : Decision.NOT_BANNED;
+    }
 
-        // 获取当前用户的角色枚举
-        UserRoleEnum userRoleEnum = UserRoleEnum.getEnumByValue(loginUser.getUserRole());
+    /**
+     * 校验规则
+     */
+    private enum Decision {
 
-        // 如果用户角色无效，抛出权限异常
-        if (userRoleEnum == null) {
-            throw new BusinessException(ErrorCode.NO_AUTH_ERROR);
-        }
+        /**
+         * 只需登录
+         */
+        LOGIN {
+            @Override
+            boolean permit(UserRoleEnum role) {
+                return true;
+            }
+        },
 
-        // 如果用户角色为封禁状态，抛出权限异常
-        if (UserRoleEnum.BAN.equals(userRoleEnum)) {
-            throw new BusinessException(ErrorCode.NO_AUTH_ERROR);
-        }
+        /**
+         * 角色有效且未被封禁
+         */
+        NOT_BANNED {
+            @Override
+            boolean permit(UserRoleEnum role) {
+                return role != null && !UserRoleEnum.BAN.equals(role);
+            }
+        },
 
-        // 如果必须是管理员权限，校验用户是否为管理员
-        if (UserRoleEnum.ADMIN.equals(mustRoleEnum)) {
-            if (!UserRoleEnum.ADMIN.equals(userRoleEnum)) {
-                throw new BusinessException(ErrorCode.NO_AUTH_ERROR);
+        /**
+         * 必须为管理员
+         */
+        ADMIN {
+            @Override
+            boolean permit(UserRoleEnum role) {
+                return UserRoleEnum.ADMIN.equals(role);
             }
-        }
+        };
 
-        // 通过权限校验，执行被拦截的方法
-        return joinPoint.proceed();
+        /**
+         * 判断角色是否满足规则
+         *
+         * @param role 用户角色，无效角色为 null
+         * @return 是否放行
+         */
+        abstract boolean permit(UserRoleEnum role);
     }
-}
\ No newline at end of file
+}
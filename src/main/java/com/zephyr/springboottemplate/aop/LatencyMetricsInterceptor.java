@@ -0,0 +1,143 @@
+package com.zephyr.springboottemplate.aop;
+
+import com.zephyr.springboottemplate.config.LatencyMetricsConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.LongTaskTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.Resource;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 耗时指标拦截器
+ *
+ * <p>
+ * 记录控制器方法、Mapper 方法和 ES 搜索的耗时分布（基于 HdrHistogram 的分位数，默认 p50 / p90 / p99 / p999），
+ * 以及控制器方法的异常次数和处理中的请求数，用于定位一个请求的耗时分布在哪一层。
+ * </p>
+ * <p>
+ * 指标（标签 class / method，耗时指标另有 outcome = success / error）：
+ * 1. controller.method：控制器方法耗时；controller.method.active：处理中的请求；controller.method.errors：异常次数（标签 exception）。
+ * 2. mapper.method：Mapper 方法耗时。
+ * 3. es.search：ElasticsearchOperations.search 耗时。
+ * </p>
+ */
+@Aspect
+@Component
+public class LatencyMetricsInterceptor {
+
+    private static final String CONTROLLER_METRIC_NAME = "controller.method";
+
+    private static final String MAPPER_METRIC_NAME = "mapper.method";
+
+    private static final String ES_SEARCH_METRIC_NAME = "es.search";
+
+    @Resource
+    private LatencyMetricsConfig latencyMetricsConfig;
+
+    @Resource
+    private MeterRegistry meterRegistry;
+
+    /**
+     * 指标缓存，避免每次调用都构建指标 ID 并查找注册表
+     */
+    private final Map<String, Timer> timerMap = new ConcurrentHashMap<>();
+
+    private final Map<String, LongTaskTimer> activeTimerMap = new ConcurrentHashMap<>();
+
+    /**
+     * Mapper 代理类 -> Mapper 接口名
+     */
+    private final Map<Class<?>, String> mapperNameMap = new ConcurrentHashMap<>();
+
+    /**
+     * 控制器方法：耗时、异常次数、处理中的请求数
+     */
+    @Around("execution(* com.zephyr.springboottemplate.controller.*.*(..))")
+    public Object recordController(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!latencyMetricsConfig.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        String className = joinPoint.getSignature().getDeclaringType().getSimpleName();
+        String methodName = joinPoint.getSignature().getName();
+        LongTaskTimer.Sample activeSample = activeTimerMap.computeIfAbsent(className + "#" + methodName,
+                key -> LongTaskTimer.builder(CONTROLLER_METRIC_NAME + ".active")
+                        .description("处理中的请求")
+                        .tags("class", className, "method", methodName)
+                        .register(meterRegistry)).start();
+        try {
+            return record(CONTROLLER_METRIC_NAME, className, methodName, joinPoint);
+        } catch (Throwable e) {
+            Counter.builder(CONTROLLER_METRIC_NAME + ".errors")
+                    .description("控制器方法异常次数")
+                    .tags("class", className, "method", methodName, "exception", e.getClass().getSimpleName())
+                    .register(meterRegistry)
+                    .increment();
+            throw e;
+        } finally {
+            activeSample.stop();
+        }
+    }
+
+    /**
+     * Mapper 方法耗时（包括 BaseMapper 的通用方法）
+     */
+    @Around("execution(* com.baomidou.mybatisplus.core.mapper.BaseMapper+.*(..))")
+    public Object recordMapper(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!latencyMetricsConfig.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        String mapperName = mapperNameMap.computeIfAbsent(joinPoint.getTarget().getClass(), this::resolveMapperName);
+        return record(MAPPER_METRIC_NAME, mapperName, joinPoint.getSignature().getName(), joinPoint);
+    }
+
+    /**
+     * ES 搜索耗时
+     */
+    @Around("execution(* org.springframework.data.elasticsearch.core.SearchOperations+.search(..))")
+    public Object recordEsSearch(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!latencyMetricsConfig.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        return record(ES_SEARCH_METRIC_NAME, "ElasticsearchOperations", "search", joinPoint);
+    }
+
+    private Object record(String name, String className, String methodName, ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            Object result = joinPoint.proceed();
+            outcome = "success";
+            return result;
+        } finally {
+            getTimer(name, className, methodName, outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer getTimer(String name, String className, String methodName, String outcome) {
+        return timerMap.computeIfAbsent(name + ":" + className + "#" + methodName + ":" + outcome,
+                key -> Timer.builder(name)
+                        .tags("class", className, "method", methodName, "outcome", outcome)
+                        .publishPercentiles(latencyMetricsConfig.getPercentiles())
+                        .register(meterRegistry));
+    }
+
+    /**
+     * Mapper 由 MyBatis 生成 JDK 代理，取其实现的 Mapper 接口名
+     */
+    private String resolveMapperName(Class<?> proxyClass) {
+        for (Class<?> mapperInterface : proxyClass.getInterfaces()) {
+            if (mapperInterface.getName().startsWith("com.zephyr.springboottemplate.mapper.")) {
+                return mapperInterface.getSimpleName();
+            }
+        }
+        return proxyClass.getSimpleName();
+    }
+}
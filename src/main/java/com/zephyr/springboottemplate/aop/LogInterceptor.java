@@ -1,29 +1,52 @@
 package com.zephyr.springboottemplate.aop;
 
+import com.zephyr.springboottemplate.config.RequestLogConfig;
+import jakarta.annotation.Resource;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang3.StringUtils;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.MDC;
 import org.springframework.stereotype.Component;
-import org.springframework.util.StopWatch;
 import org.springframework.web.context.request.RequestAttributes;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
-import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * 日志拦截器
  * <p>
  * 使用 AOP 实现对所有控制器方法的日志记录，包括请求路径、参数、执行时间等。
+ * <p>
+ * 请求 ID 由进程标识 + 自增序号组成（无需安全随机数），放入 MDC（requestId），请求内的所有日志都会带上；
+ * 每个请求只在结束时输出一行日志，请求参数只对抽样请求、慢请求和失败请求延迟渲染输出，见 {@link RequestLogConfig}。
  */
 @Aspect
 @Slf4j
 @Component
 public class LogInterceptor {
 
+    /**
+     * MDC 中请求 ID 的键
+     */
+    public static final String REQUEST_ID_KEY = "requestId";
+
+    /**
+     * 进程标识，区分不同节点 / 重启后的请求 ID
+     */
+    private static final String ID_PREFIX = Long.toString(ThreadLocalRandom.current().nextLong(Long.MAX_VALUE), 36) + "-";
+
+    /**
+     * 请求序号
+     */
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    @Resource
+    private RequestLogConfig requestLogConfig;
+
     /**
      * 拦截所有控制器方法，并记录日志
      *
@@ -33,36 +56,55 @@ public class LogInterceptor {
      */
     @Around("execution(* com.zephyr.springboottemplate.controller.*.*(..))")
     public Object doInterceptor(ProceedingJoinPoint joinPoint) throws Throwable {
-        // 计时器，用于计算方法执行时间
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
-
-        // 获取当前请求的相关信息
-        RequestAttributes requestAttributes = RequestContextHolder.currentRequestAttributes();
-        HttpServletRequest httpServletRequest = ((ServletRequestAttributes) requestAttributes).getRequest();
+        long start = System.nanoTime();
 
         // 生成请求唯一 ID，用于标识每个请求
-        String requestId = UUID.randomUUID().toString();
-        // 获取请求的 URL
-        String url = httpServletRequest.getRequestURI();
-
-        // 获取请求参数
-        Object[] args = joinPoint.getArgs(); // 方法的参数
-        String reqParam = "[" + StringUtils.join(args, ", ") + "]";
-
-        // 记录请求日志
-        log.info("request start, id: {}, path: {}, ip: {}, params: {}", requestId, url,
-                httpServletRequest.getRemoteHost(), reqParam);
+        String requestId = nextRequestId();
+        MDC.put(REQUEST_ID_KEY, requestId);
+        boolean success = false;
+        try {
+            // 执行被拦截的方法
+            Object result = joinPoint.proceed();
+            success = true;
+            return result;
+        } finally {
+            long costMillis = (System.nanoTime() - start) / 1_000_000;
+            if (log.isInfoEnabled()) {
+                logRequest(joinPoint, success, costMillis);
+            }
+            MDC.remove(REQUEST_ID_KEY);
+        }
+    }
 
-        // 执行被拦截的方法
-        Object result = joinPoint.proceed();
+    /**
+     * 生成请求 ID
+     *
+     * @return 请求 ID
+     */
+    static String nextRequestId() {
+        return ID_PREFIX + Long.toString(SEQUENCE.incrementAndGet(), 36);
+    }
 
-        // 记录响应日志
-        stopWatch.stop();
-        long totalTimeMillis = stopWatch.getTotalTimeMillis();
-        log.info("request end, id: {}, cost: {}ms", requestId, totalTimeMillis);
+    private void logRequest(ProceedingJoinPoint joinPoint, boolean success, long costMillis) {
+        // 获取当前请求的相关信息
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        String url = null;
+        String ip = null;
+        if (requestAttributes instanceof ServletRequestAttributes servletRequestAttributes) {
+            HttpServletRequest httpServletRequest = servletRequestAttributes.getRequest();
+            url = httpServletRequest.getRequestURI();
+            // getRemoteAddr 不做反向 DNS 解析
+            ip = httpServletRequest.getRemoteAddr();
+        }
 
-        // 返回方法的执行结果
-        return result;
+        // 失败、慢请求和抽样请求输出参数，参数在日志真正输出时才渲染
+        boolean dumpParams = !success
+                || costMillis >= requestLogConfig.getSlowThresholdMillis()
+                || ThreadLocalRandom.current().nextDouble() < requestLogConfig.getParamSampleRate();
+        Object params = dumpParams
+                ? new RequestLogParams(joinPoint.getArgs(), requestLogConfig.getMaxParamLength(),
+                requestLogConfig.getMaxParamsLength())
+                : "-";
+        log.info("request end, path: {}, ip: {}, success: {}, cost: {}ms, params: {}", url, ip, success, costMillis, params);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,69 @@
+package com.zephyr.springboottemplate.aop;
+
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * 请求参数的延迟渲染
+ *
+ * <p>
+ * 作为日志参数传入，只有日志真正输出时才会调用 {@link #toString()} 渲染；
+ * 请求、响应对象不渲染，文件只输出文件名和大小，每个参数和整体都有长度上限。
+ * </p>
+ */
+final class RequestLogParams {
+
+    private final Object[] args;
+
+    private final int maxParamLength;
+
+    private final int maxParamsLength;
+
+    RequestLogParams(Object[] args, int maxParamLength, int maxParamsLength) {
+        this.args = args;
+        this.maxParamLength = maxParamLength;
+        this.maxParamsLength = maxParamsLength;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < args.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            if (sb.length() >= maxParamsLength) {
+                sb.append("...");
+                break;
+            }
+            appendArg(sb, args[i]);
+        }
+        if (sb.length() > maxParamsLength) {
+            sb.setLength(maxParamsLength);
+            sb.append("...");
+        }
+        return sb.append(']').toString();
+    }
+
+    private void appendArg(StringBuilder sb, Object arg) {
+        if (arg instanceof ServletRequest || arg instanceof ServletResponse) {
+            sb.append('<').append(arg.getClass().getSimpleName()).append('>');
+            return;
+        }
+        if (arg instanceof MultipartFile file) {
+            sb.append("MultipartFile(").append(file.getOriginalFilename()).append(", ").append(file.getSize()).append(')');
+            return;
+        }
+        if (arg instanceof byte[] bytes) {
+            sb.append("byte[").append(bytes.length).append(']');
+            return;
+        }
+        String value = String.valueOf(arg);
+        if (value.length() > maxParamLength) {
+            sb.append(value, 0, maxParamLength).append("...");
+        } else {
+            sb.append(value);
+        }
+    }
+}
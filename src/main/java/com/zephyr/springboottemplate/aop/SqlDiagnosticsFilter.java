@@ -0,0 +1,72 @@
+package com.zephyr.springboottemplate.aop;
+
+import com.zephyr.springboottemplate.config.SqlDiagnosticsConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * SQL 诊断过滤器
+ *
+ * <p>
+ * 请求开始时为当前线程绑定 {@link SqlStats}，请求结束时：
+ * 1. 记录每个请求执行的语句数 sql.request.statements。
+ * 2. 同一语句执行次数达到 n-plus-one-threshold 时输出警告日志，并计数 sql.n_plus_one（标签 statement）。
+ * 响应头 X-Sql-Stats 由 {@link SqlDiagnosticsHeaderAdvice} 在写出响应体前设置。
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "sql-diagnostics", name = "enabled", havingValue = "true")
+@Slf4j
+public class SqlDiagnosticsFilter extends OncePerRequestFilter {
+
+    @Resource
+    private SqlDiagnosticsConfig sqlDiagnosticsConfig;
+
+    @Resource
+    private MeterRegistry meterRegistry;
+
+    private DistributionSummary statementSummary;
+
+    @PostConstruct
+    public void init() {
+        statementSummary = DistributionSummary.builder("sql.request.statements")
+                .description("每个请求执行的 SQL 语句数")
+                .publishPercentiles(0.5, 0.9, 0.99)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStats sqlStats = SqlStats.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStats.clear();
+            statementSummary.record(sqlStats.getStatementCount());
+            Map<String, Integer> nPlusOneMap = sqlStats.getNPlusOne(sqlDiagnosticsConfig.getNPlusOneThreshold());
+            if (!nPlusOneMap.isEmpty()) {
+                log.warn("possible n+1 query, path: {}, statements: {}", request.getRequestURI(), nPlusOneMap);
+                nPlusOneMap.keySet().forEach(statementId -> Counter.builder("sql.n_plus_one")
+                        .description("疑似 N+1 查询的请求数")
+                        .tag("statement", statementId)
+                        .register(meterRegistry)
+                        .increment());
+            }
+        }
+    }
+}
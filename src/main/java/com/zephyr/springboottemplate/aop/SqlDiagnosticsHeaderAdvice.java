@@ -0,0 +1,49 @@
+package com.zephyr.springboottemplate.aop;
+
+import com.zephyr.springboottemplate.config.SqlDiagnosticsConfig;
+import jakarta.annotation.Resource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * SQL 统计响应头
+ *
+ * <p>
+ * 开启 sql-diagnostics.debug-header 时，在写出响应体前将本次请求的 SQL 统计写入响应头 X-Sql-Stats，
+ * 例如 statements=12; time=35ms; n+1=PostMapper.selectById*10。
+ * </p>
+ */
+@RestControllerAdvice
+@ConditionalOnProperty(prefix = "sql-diagnostics", name = "enabled", havingValue = "true")
+public class SqlDiagnosticsHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    /**
+     * 响应头名称
+     */
+    private static final String HEADER_NAME = "X-Sql-Stats";
+
+    @Resource
+    private SqlDiagnosticsConfig sqlDiagnosticsConfig;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return sqlDiagnosticsConfig.isDebugHeader();
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        SqlStats sqlStats = SqlStats.current();
+        if (sqlStats != null) {
+            response.getHeaders().set(HEADER_NAME, sqlStats.toHeaderValue(sqlDiagnosticsConfig.getNPlusOneThreshold()));
+        }
+        return body;
+    }
+}
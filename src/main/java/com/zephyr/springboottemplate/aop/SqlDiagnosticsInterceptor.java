@@ -0,0 +1,119 @@
+package com.zephyr.springboottemplate.aop;
+
+import com.zephyr.springboottemplate.config.SqlDiagnosticsConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SQL 诊断拦截器
+ *
+ * <p>
+ * 拦截 Executor 的查询与更新，统计每条语句的耗时：
+ * 1. 超过 slow-threshold-millis 的语句输出警告日志（含 SQL 与绑定参数），并计数 sql.slow（标签 statement）。
+ * 2. 累加到当前请求的 {@link SqlStats}，由 {@link SqlDiagnosticsFilter} 在请求结束时检测 N+1 查询。
+ * </p>
+ * <p>
+ * MyBatis-Plus 的 InnerInterceptor 只有执行前的回调，无法计时，因此实现为标准的 MyBatis 插件，
+ * 注册为 Bean 后由 MyBatis-Plus 自动装配，与 MybatisPlusInterceptor 共存。
+ * </p>
+ */
+@Intercepts({
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class}),
+        @Signature(type = Executor.class, method = "update",
+                args = {MappedStatement.class, Object.class})
+})
+@Component
+@ConditionalOnProperty(prefix = "sql-diagnostics", name = "enabled", havingValue = "true")
+@Slf4j
+public class SqlDiagnosticsInterceptor implements Interceptor {
+
+    @Resource
+    private SqlDiagnosticsConfig sqlDiagnosticsConfig;
+
+    @Resource
+    private MeterRegistry meterRegistry;
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        long start = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } finally {
+            long nanos = System.nanoTime() - start;
+            Object[] args = invocation.getArgs();
+            MappedStatement mappedStatement = (MappedStatement) args[0];
+            String statementId = shortStatementId(mappedStatement.getId());
+            SqlStats sqlStats = SqlStats.current();
+            if (sqlStats != null) {
+                sqlStats.record(statementId, nanos);
+            }
+            long costMillis = nanos / 1_000_000;
+            if (costMillis >= sqlDiagnosticsConfig.getSlowThresholdMillis()) {
+                BoundSql boundSql = args.length == 6 ? (BoundSql) args[5] : mappedStatement.getBoundSql(args[1]);
+                log.warn("slow sql, statement: {}, cost: {}ms, sql: {}, params: {}", statementId, costMillis,
+                        StringUtils.normalizeSpace(boundSql.getSql()),
+                        getParameterValues(mappedStatement.getConfiguration(), boundSql));
+                Counter.builder("sql.slow")
+                        .description("慢 SQL 次数")
+                        .tag("statement", statementId)
+                        .register(meterRegistry)
+                        .increment();
+            }
+        }
+    }
+
+    /**
+     * 取语句 ID 的 Mapper 简单类名 + 方法名，例如 PostMapper.selectById
+     */
+    private String shortStatementId(String statementId) {
+        int methodIndex = statementId.lastIndexOf('.');
+        int classIndex = methodIndex > 0 ? statementId.lastIndexOf('.', methodIndex - 1) : -1;
+        return classIndex >= 0 ? statementId.substring(classIndex + 1) : statementId;
+    }
+
+    /**
+     * 按占位符顺序取出绑定参数的值
+     */
+    private List<String> getParameterValues(Configuration configuration, BoundSql boundSql) {
+        Object parameterObject = boundSql.getParameterObject();
+        List<String> valueList = new ArrayList<>();
+        for (ParameterMapping parameterMapping : boundSql.getParameterMappings()) {
+            String property = parameterMapping.getProperty();
+            Object value;
+            if (boundSql.hasAdditionalParameter(property)) {
+                value = boundSql.getAdditionalParameter(property);
+            } else if (parameterObject == null) {
+                value = null;
+            } else if (configuration.getTypeHandlerRegistry().hasTypeHandler(parameterObject.getClass())) {
+                value = parameterObject;
+            } else {
+                value = configuration.newMetaObject(parameterObject).getValue(property);
+            }
+            valueList.add(StringUtils.abbreviate(String.valueOf(value), Math.max(sqlDiagnosticsConfig.getMaxParamLength(), 4)));
+        }
+        return valueList;
+    }
+}
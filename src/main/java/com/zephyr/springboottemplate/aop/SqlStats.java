@@ -0,0 +1,112 @@
+package com.zephyr.springboottemplate.aop;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * 单个请求内的 SQL 执行统计
+ *
+ * <p>
+ * 由 {@link SqlDiagnosticsFilter} 在请求开始时绑定到当前线程，{@link SqlDiagnosticsInterceptor} 在每条语句执行后累加。
+ * 提交到其他线程池的任务（如 EnrichExecutor）通过 {@link #bind(SqlStats)} 绑定同一统计对象，
+ * 多个线程并发累加，因此计数均为线程安全的。
+ * </p>
+ */
+public class SqlStats {
+
+    private static final ThreadLocal<SqlStats> CURRENT = new ThreadLocal<>();
+
+    /**
+     * 语句 ID -> 执行次数
+     */
+    private final Map<String, Integer> statementCountMap = new ConcurrentHashMap<>();
+
+    private final LongAdder statementCount = new LongAdder();
+
+    private final LongAdder totalNanos = new LongAdder();
+
+    /**
+     * 为当前线程开始统计
+     *
+     * @return 统计对象
+     */
+    static SqlStats start() {
+        SqlStats sqlStats = new SqlStats();
+        CURRENT.set(sqlStats);
+        return sqlStats;
+    }
+
+    /**
+     * 获取当前线程的统计，不在请求内时返回 null
+     */
+    public static SqlStats current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 将统计绑定到当前线程（用于在工作线程中继续统计调用线程所属请求的语句）
+     *
+     * @param sqlStats 统计对象，为 null 时解除绑定
+     */
+    public static void bind(SqlStats sqlStats) {
+        if (sqlStats == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(sqlStats);
+        }
+    }
+
+    /**
+     * 结束当前线程的统计
+     */
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    void record(String statementId, long nanos) {
+        statementCountMap.merge(statementId, 1, Integer::sum);
+        statementCount.increment();
+        totalNanos.add(nanos);
+    }
+
+    public int getStatementCount() {
+        return statementCount.intValue();
+    }
+
+    public long getTotalMillis() {
+        return totalNanos.sum() / 1_000_000;
+    }
+
+    /**
+     * 获取疑似 N+1 的语句
+     *
+     * @param threshold 同一语句的执行次数阈值
+     * @return 语句 ID -> 执行次数
+     */
+    public Map<String, Integer> getNPlusOne(int threshold) {
+        return statementCountMap.entrySet().stream()
+                .filter(entry -> entry.getValue() >= threshold)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+
+    /**
+     * 生成响应头格式的统计摘要，例如 statements=12; time=35ms; n+1=PostMapper.selectById*10
+     *
+     * @param threshold N+1 判定阈值
+     * @return 统计摘要
+     */
+    public String toHeaderValue(int threshold) {
+        StringBuilder sb = new StringBuilder()
+                .append("statements=").append(getStatementCount())
+                .append("; time=").append(getTotalMillis()).append("ms");
+        Map<String, Integer> nPlusOneMap = getNPlusOne(threshold);
+        if (!nPlusOneMap.isEmpty()) {
+            sb.append("; n+1=").append(nPlusOneMap.entrySet().stream()
+                    .map(entry -> entry.getKey() + "*" + entry.getValue())
+                    .collect(Collectors.joining(",")));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,38 @@
+package com.zephyr.springboottemplate.common;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.Serial;
+
+/**
+ * 游标分页对象
+ *
+ * <p>
+ * 游标（keyset）分页模式下使用：总是从第一条开始读取且不统计总数，
+ * 通过查询条件中的游标定位，返回 {@link #nextCursor} 供客户端请求下一页。
+ * </p>
+ *
+ * @param <T> 记录类型
+ */
+@Getter
+@Setter
+public class CursorPage<T> extends FacetPage<T> {
+
+    /**
+     * 下一页游标，为 null 表示没有更多数据
+     */
+    private String nextCursor;
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public CursorPage(long size) {
+        super(1, size, false);
+    }
+
+    public CursorPage(long size, String nextCursor) {
+        this(size);
+        this.nextCursor = nextCursor;
+    }
+}
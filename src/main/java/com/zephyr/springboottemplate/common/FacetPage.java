@@ -0,0 +1,46 @@
+package com.zephyr.springboottemplate.common;
+
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.zephyr.springboottemplate.model.vo.FacetVO;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.Serial;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 可附带聚合统计结果的分页对象
+ *
+ * <p>
+ * 搜索时请求了 facets 才会返回 {@link #facets}，未请求时该字段不出现在响应中。
+ * </p>
+ *
+ * @param <T> 记录类型
+ */
+@Getter
+@Setter
+public class FacetPage<T> extends Page<T> {
+
+    /**
+     * 聚合字段 -> 按数量倒序的统计项
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Map<String, List<FacetVO>> facets;
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public FacetPage() {
+        super();
+    }
+
+    public FacetPage(long current, long size, long total) {
+        super(current, size, total);
+    }
+
+    public FacetPage(long current, long size, boolean searchCount) {
+        super(current, size, searchCount);
+    }
+}
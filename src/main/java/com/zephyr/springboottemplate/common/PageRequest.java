@@ -22,7 +22,27 @@ public class PageRequest {
     private String sortField;
 
     /**
-     * 排序顺序（默认升序）
+     * 排序顺序，未指定时普通分页默认升序、游标分页默认降序（最新在前），见 {@link #isAsc(boolean)}
      */
-    private String sortOrder = SortConstant.SORT_ORDER_ASC;
+    private String sortOrder;
+
+    /**
+     * 是否使用游标分页（不统计总数，忽略 currentNum，通过 cursor 定位）
+     */
+    private boolean cursorMode = false;
+
+    /**
+     * 游标，取上一页返回的 nextCursor，首页不传
+     */
+    private String cursor;
+
+    /**
+     * 是否升序
+     *
+     * @param defaultAsc 未指定排序顺序时是否升序
+     * @return 是否升序
+     */
+    public boolean isAsc(boolean defaultAsc) {
+        return sortOrder == null ? defaultAsc : SortConstant.SORT_ORDER_ASC.equals(sortOrder);
+    }
 }
@@ -0,0 +1,45 @@
+package com.zephyr.springboottemplate.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 帖子分页数据并发填充配置类
+ *
+ * <p>
+ * 用于配置分页渲染帖子时并发执行关联查询（作者、点赞、收藏）的线程池，配置前缀为 post.enrich。
+ * 线程池满时自动退化为在调用线程中顺序执行。
+ * </p>
+ */
+@Configuration
+@ConfigurationProperties(prefix = "post.enrich")
+@Data
+public class EnrichExecutorConfig {
+
+    /**
+     * 是否开启并发填充，关闭时所有查询在调用线程中顺序执行
+     */
+    private boolean enabled = true;
+
+    /**
+     * 核心线程数
+     */
+    private int coreSize = 8;
+
+    /**
+     * 最大线程数，注意不要超过数据库连接池大小
+     */
+    private int maxSize = 32;
+
+    /**
+     * 等待队列容量，0 表示不排队：线程数已达上限时立即退化为顺序执行
+     * 线程池只在队列满后才会扩容到 maxSize，队列过大时任务会排队等到超时而不是退化为顺序执行
+     */
+    private int queueCapacity = 0;
+
+    /**
+     * 单次请求等待全部填充结果的最长时间（毫秒）
+     */
+    private long timeoutMillis = 3000;
+}
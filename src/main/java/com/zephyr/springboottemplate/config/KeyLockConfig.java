@@ -0,0 +1,39 @@
+package com.zephyr.springboottemplate.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 键锁配置类
+ *
+ * <p>
+ * 用于配置按业务键加锁（如同一用户对同一帖子的点赞、同一账号的注册）的实现方式，配置前缀为 lock。
+ * 单节点部署使用进程内分段锁（local）；多节点部署需使用 Redis 分布式锁（redis，须先配置 Redis）。
+ * </p>
+ */
+@Configuration
+@ConfigurationProperties(prefix = "lock")
+@Data
+public class KeyLockConfig {
+
+    /**
+     * 锁实现类型：local（进程内分段锁）/ redis（Redis 分布式锁）
+     */
+    private String type = "local";
+
+    /**
+     * 进程内分段锁的分段数，会向上取整为 2 的幂
+     */
+    private int stripes = 1024;
+
+    /**
+     * 获取锁的最长等待时间（毫秒），超时则提示操作过于频繁
+     */
+    private long waitTimeoutMillis = 3000;
+
+    /**
+     * Redis 锁的租约时间（毫秒），持有者异常退出后锁最多在该时间后自动释放，应大于业务最长执行时间
+     */
+    private long redisLeaseMillis = 10000;
+}
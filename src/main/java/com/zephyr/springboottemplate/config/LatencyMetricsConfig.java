@@ -0,0 +1,29 @@
+package com.zephyr.springboottemplate.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 耗时指标配置类
+ *
+ * <p>
+ * 用于配置控制器方法、Mapper 方法和 ES 搜索的耗时指标，配置前缀为 latency-metrics。
+ * 指标通过 actuator 的 /actuator/metrics 查看，默认不暴露，需在独立管理端口上开启（见 application.yml 的 management 配置）。
+ * </p>
+ */
+@Configuration
+@ConfigurationProperties(prefix = "latency-metrics")
+@Data
+public class LatencyMetricsConfig {
+
+    /**
+     * 是否开启耗时指标
+     */
+    private boolean enabled = true;
+
+    /**
+     * 发布的耗时分位数
+     */
+    private double[] percentiles = {0.5, 0.9, 0.99, 0.999};
+}
@@ -0,0 +1,58 @@
+package com.zephyr.springboottemplate.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 帖子缓存配置类
+ *
+ * <p>
+ * 用于配置帖子详情（帖子 + 作者信息）的二级缓存：
+ * 一级为进程内 LRU 缓存，二级为 Redis 缓存（未开启 Redis 时自动跳过）；
+ * 以及用户点赞、收藏帖子 ID 集合的进程内缓存。
+ * 配置从 application.yml 中加载，前缀为 post.cache。
+ * </p>
+ */
+@Configuration
+@ConfigurationProperties(prefix = "post.cache")
+@Data
+public class PostCacheConfig {
+
+    /**
+     * 是否开启帖子缓存
+     */
+    private boolean enabled = true;
+
+    /**
+     * 进程内缓存的最大条目数，超出后按 LRU 淘汰
+     */
+    private int localMaxSize = 10000;
+
+    /**
+     * 进程内缓存过期时间（秒）
+     * 多节点部署时，其他节点的本地缓存最多在该时间后失效，因此不宜过长。
+     */
+    private long localTtlSeconds = 30;
+
+    /**
+     * Redis 缓存过期时间（秒）
+     */
+    private long redisTtlSeconds = 600;
+
+    /**
+     * 用户点赞 / 收藏帖子 ID 集合缓存的最大用户数，超出后按 LRU 淘汰
+     */
+    private int membershipMaxUsers = 20000;
+
+    /**
+     * 用户点赞 / 收藏帖子 ID 集合缓存过期时间（秒）
+     * 多节点部署时，其他节点的点赞、收藏状态最多在该时间后更新。
+     */
+    private long membershipTtlSeconds = 300;
+
+    /**
+     * 单个用户可缓存的最大帖子 ID 数，超出时不缓存，直接查库
+     */
+    private int membershipMaxPostsPerUser = 5000;
+}
@@ -0,0 +1,39 @@
+package com.zephyr.springboottemplate.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 帖子点赞数 / 收藏数聚合写配置类
+ *
+ * <p>
+ * 开启后点赞、收藏不再逐次更新 post 表计数，而是在内存中按帖子累加增量，
+ * 由定时任务合并为一条批量 UPDATE 写回，配置前缀为 post.counter。
+ * </p>
+ */
+@Configuration
+@ConfigurationProperties(prefix = "post.counter")
+@Data
+public class PostCounterConfig {
+
+    /**
+     * 是否开启聚合写，关闭时每次点赞、收藏直接更新数据库
+     */
+    private boolean enabled = true;
+
+    /**
+     * 增量写回数据库的间隔（毫秒），也是单节点宕机时最多丢失的计数时间窗口
+     */
+    private long flushIntervalMillis = 1000;
+
+    /**
+     * 单条批量 UPDATE 语句包含的最大帖子数
+     */
+    private int flushBatchSize = 500;
+
+    /**
+     * 应用关闭时是否写回剩余增量
+     */
+    private boolean flushOnShutdown = true;
+}
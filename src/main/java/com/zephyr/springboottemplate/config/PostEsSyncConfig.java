@@ -0,0 +1,74 @@
+package com.zephyr.springboottemplate.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 帖子同步到 Elasticsearch 配置类
+ *
+ * <p>
+ * 用于配置帖子从数据库同步到 Elasticsearch 的批量大小、并发度等，配置前缀为 post.es-sync。
+ * </p>
+ */
+@Configuration
+@ConfigurationProperties(prefix = "post.es-sync")
+@Data
+public class PostEsSyncConfig {
+
+    /**
+     * 全量同步每批读取、写入的帖子数
+     */
+    private int fullSyncBatchSize = 500;
+
+    /**
+     * 全量同步并发写入 Elasticsearch 的线程数
+     */
+    private int fullSyncWorkers = 4;
+
+    /**
+     * 全量同步读写之间的缓冲队列容量（批数），队列满时读取阻塞，内存占用与总数据量无关
+     */
+    private int fullSyncQueueCapacity = 8;
+
+    /**
+     * 全量同步模式：in-place（直接写入当前索引）/ blue-green（写入新版本索引，完成后原子切换别名）
+     */
+    private String fullSyncMode = "in-place";
+
+    /**
+     * blue-green 模式下新索引导入完成后的副本数（导入期间副本数为 0）
+     */
+    private int blueGreenReplicas = 1;
+
+    /**
+     * 增量同步每批读取、写入的帖子数
+     */
+    private int incSyncBatchSize = 500;
+
+    /**
+     * 增量同步间隔（毫秒）
+     */
+    private long incSyncIntervalMillis = 60000;
+
+    /**
+     * 增量同步延迟（秒），只同步该时间之前更新的帖子，
+     * 避免较早开始、较晚提交的事务所更新的帖子落在检查点之前而被跳过
+     */
+    private long incSyncLagSeconds = 5;
+
+    /**
+     * 索引修复（清理数据库中已不存在的帖子）每次最多删除的帖子数，与执行间隔共同决定清理速率上限
+     */
+    private int repairBatchSize = 500;
+
+    /**
+     * 索引修复执行间隔（毫秒）
+     */
+    private long repairIntervalMillis = 1000;
+
+    /**
+     * 索引修复队列最大长度，超出时丢弃（下次搜索命中时会再次入队）
+     */
+    private int repairMaxPending = 10000;
+}
@@ -0,0 +1,39 @@
+package com.zephyr.springboottemplate.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 帖子变更发件箱配置类
+ *
+ * <p>
+ * 帖子增删改、点赞数 / 收藏数变化时，在同一事务中写入 post_outbox 表，
+ * 再由中继任务批量同步到 Elasticsearch，配置前缀为 post.outbox。
+ * </p>
+ */
+@Configuration
+@ConfigurationProperties(prefix = "post.outbox")
+@Data
+public class PostOutboxConfig {
+
+    /**
+     * 是否开启发件箱（须先配置 ES），关闭时不写入发件箱、也不运行中继
+     */
+    private boolean enabled = false;
+
+    /**
+     * 本节点是否运行中继（须同时开启 enabled），多节点部署时只应在一个节点开启
+     */
+    private boolean relayEnabled = false;
+
+    /**
+     * 中继轮询发件箱的间隔（毫秒），决定变更在搜索中可见的延迟
+     */
+    private long relayIntervalMillis = 200;
+
+    /**
+     * 中继每批处理的发件箱记录数
+     */
+    private int relayBatchSize = 500;
+}
@@ -0,0 +1,99 @@
+package com.zephyr.springboottemplate.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 帖子搜索配置类
+ *
+ * <p>
+ * 用于配置基于 Elasticsearch 的帖子搜索，配置前缀为 post.search。
+ * </p>
+ */
+@Configuration
+@ConfigurationProperties(prefix = "post.search")
+@Data
+public class PostSearchConfig {
+
+    /**
+     * 游标分页时 point-in-time 的保持时间（秒），客户端两次翻页的间隔超过该时间后游标失效
+     */
+    private long pitKeepAliveSeconds = 60;
+
+    /**
+     * 是否开启 ES 直读：匿名用户的搜索结果直接由 ES _source 构建（不含正文），不再查询数据库
+     */
+    private boolean esOnlyRead = false;
+
+    /**
+     * ES 直读时已写回数据库的点赞数 / 收藏数增量在内存中保留的时间（秒），应大于 ES 同步延迟；
+     * 超过该时间仍未同步到 ES 的计数在搜索结果中会暂时回退
+     */
+    private long countOverlayRetentionSeconds = 120;
+
+    /**
+     * 每个聚合字段返回的统计项数量上限
+     */
+    private int facetSize = 10;
+
+    /**
+     * 是否开启聚合结果缓存
+     */
+    private boolean facetCacheEnabled = true;
+
+    /**
+     * 聚合结果缓存的最大条目数
+     */
+    private int facetCacheMaxSize = 1000;
+
+    /**
+     * 聚合结果缓存的过期时间（秒）
+     */
+    private long facetCacheTtlSeconds = 30;
+
+    /**
+     * 是否开启搜索结果缓存（缓存一页结果的帖子 ID 列表）
+     */
+    private boolean searchCacheEnabled = true;
+
+    /**
+     * 搜索结果缓存的最大条目数
+     */
+    private int searchCacheMaxSize = 10000;
+
+    /**
+     * 搜索结果缓存的过期时间（秒）
+     */
+    private long searchCacheTtlSeconds = 10;
+
+    /**
+     * 是否开启搜索建议
+     */
+    private boolean suggestEnabled = true;
+
+    /**
+     * 搜索建议最多返回的数量
+     */
+    private int suggestLimit = 10;
+
+    /**
+     * 预先计算 Top-N 的前缀长度，不超过该长度的前缀直接返回结果
+     */
+    private int suggestCachedPrefixLength = 3;
+
+    /**
+     * 较长前缀每次最多扫描的建议词数量
+     */
+    private int suggestMaxScan = 5000;
+
+    /**
+     * 标题作为建议词时的最大长度
+     */
+    private int suggestMaxTermLength = 50;
+
+    /**
+     * 从数据库加载全部帖子时每批的数量
+     */
+    private int suggestLoadBatchSize = 1000;
+}
@@ -0,0 +1,39 @@
+package com.zephyr.springboottemplate.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 请求日志配置类
+ *
+ * <p>
+ * 用于配置 LogInterceptor 的请求日志，配置前缀为 request-log。
+ * 每个请求只在结束时输出一行日志；请求参数只对抽样请求、慢请求和失败请求输出，并限制长度。
+ * </p>
+ */
+@Configuration
+@ConfigurationProperties(prefix = "request-log")
+@Data
+public class RequestLogConfig {
+
+    /**
+     * 输出完整请求参数的抽样比例（0 ~ 1）
+     */
+    private double paramSampleRate = 0.01;
+
+    /**
+     * 慢请求阈值（毫秒），超过该耗时的请求总是输出请求参数
+     */
+    private long slowThresholdMillis = 1000;
+
+    /**
+     * 单个参数输出的最大长度
+     */
+    private int maxParamLength = 256;
+
+    /**
+     * 全部参数输出的最大长度
+     */
+    private int maxParamsLength = 1024;
+}
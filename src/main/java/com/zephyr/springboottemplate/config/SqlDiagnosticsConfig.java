@@ -0,0 +1,44 @@
+package com.zephyr.springboottemplate.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * SQL 诊断配置类
+ *
+ * <p>
+ * 用于配置慢 SQL 与 N+1 查询检测，配置前缀为 sql-diagnostics。
+ * 关闭时相关拦截器、过滤器都不会注册，没有额外开销。
+ * </p>
+ */
+@Configuration
+@ConfigurationProperties(prefix = "sql-diagnostics")
+@Data
+public class SqlDiagnosticsConfig {
+
+    /**
+     * 是否开启 SQL 诊断（修改后需重启）
+     */
+    private boolean enabled = false;
+
+    /**
+     * 慢 SQL 阈值（毫秒），超过该耗时的语句连同绑定参数输出警告日志
+     */
+    private long slowThresholdMillis = 500;
+
+    /**
+     * 单个请求内同一语句执行次数达到该值时视为 N+1 查询
+     */
+    private int nPlusOneThreshold = 5;
+
+    /**
+     * 是否在响应头 X-Sql-Stats 中返回本次请求的 SQL 统计
+     */
+    private boolean debugHeader = false;
+
+    /**
+     * 慢 SQL 日志中单个绑定参数的最大长度
+     */
+    private int maxParamLength = 128;
+}
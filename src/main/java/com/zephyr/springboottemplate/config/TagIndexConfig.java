@@ -0,0 +1,45 @@
+package com.zephyr.springboottemplate.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 标签索引配置类
+ *
+ * <p>
+ * 用于配置标签字典缓存以及热门标签的进程内帖子 ID 索引，配置前缀为 post.tag-index。
+ * 热门标签的 AND / OR 过滤直接通过有序数组求交 / 并得到帖子 ID，
+ * 其余标签通过 post_tag 表的索引半连接过滤。
+ * </p>
+ */
+@Configuration
+@ConfigurationProperties(prefix = "post.tag-index")
+@Data
+public class TagIndexConfig {
+
+    /**
+     * 标签字典缓存的最大标签数
+     */
+    private int dictionaryMaxSize = 100000;
+
+    /**
+     * 进程内建立帖子 ID 索引的热门标签数量，为 0 时关闭热门标签索引
+     */
+    private int hotTagCount = 100;
+
+    /**
+     * 单个热门标签最多索引的帖子数，超出的标签不建立进程内索引
+     */
+    private int maxPostsPerTag = 200000;
+
+    /**
+     * 热门标签索引的刷新间隔（毫秒），多节点部署时即其他节点索引的最大不一致时间
+     */
+    private long refreshIntervalMillis = 300000;
+
+    /**
+     * 由热门标签索引得到的帖子 ID 数不超过该值时，直接以 id IN (...) 查询，否则仍走半连接
+     */
+    private int maxInlinePostIds = 1000;
+}
@@ -0,0 +1,40 @@
+package com.zephyr.springboottemplate.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 用户缓存配置类
+ *
+ * <p>
+ * 用于配置登录用户解析时使用的进程内用户缓存，配置前缀为 user.cache。
+ * 用户信息变更（更新、删除、封禁）时本节点会立即失效缓存，
+ * 其他节点最多在 ttlSeconds 后读取到最新的角色与封禁状态。
+ * </p>
+ */
+@Configuration
+@ConfigurationProperties(prefix = "user.cache")
+@Data
+public class UserCacheConfig {
+
+    /**
+     * 是否开启用户缓存
+     */
+    private boolean enabled = true;
+
+    /**
+     * 最大缓存用户数，超出后按 LRU 淘汰
+     */
+    private int maxSize = 10000;
+
+    /**
+     * 缓存过期时间（秒），即角色变更、封禁在其他节点生效的最大延迟
+     */
+    private long ttlSeconds = 10;
+
+    /**
+     * 最大缓存登录身份数（仅 ID 与角色，用于权限校验），过期时间同 ttlSeconds
+     */
+    private int principalMaxSize = 100000;
+}
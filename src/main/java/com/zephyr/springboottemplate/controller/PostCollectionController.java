@@ -61,11 +61,10 @@ public class PostCollectionController {
             throw new BusinessException(ErrorCode.PARAMS_ERROR);
         }
         User loginUser = userService.getLoginUser(request);
-        long currentNum = postQueryRequest.getCurrentNum();
         long pageSize = postQueryRequest.getPageSize();
         // 限制爬虫
         ThrowUtils.throwIf(pageSize > 20, ErrorCode.PARAMS_ERROR);
-        Page<Post> postPage = postCollectionService.listCollectedPostByPage(new Page<>(currentNum, pageSize),
+        Page<Post> postPage = postCollectionService.listCollectedPostByPage(postService.createPage(postQueryRequest),
                 postService.getQueryWrapper(postQueryRequest), loginUser.getId());
         Page<PostVO> postVOPage = postService.getPostVOPage(postPage, request);
         return new BaseResponse<>(0, postVOPage, "ok");
@@ -5,8 +5,10 @@ import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.zephyr.springboottemplate.annotation.AuthCheck;
 import com.zephyr.springboottemplate.common.BaseResponse;
 import com.zephyr.springboottemplate.common.ErrorCode;
+import com.zephyr.springboottemplate.config.PostSearchConfig;
 import com.zephyr.springboottemplate.constant.UserConstant;
 import com.zephyr.springboottemplate.exception.BusinessException;
+import com.zephyr.springboottemplate.manager.PostSuggestManager;
 import com.zephyr.springboottemplate.model.dto.post.PostAddRequest;
 import com.zephyr.springboottemplate.model.dto.post.PostEditRequest;
 import com.zephyr.springboottemplate.model.dto.post.PostQueryRequest;
@@ -39,6 +41,12 @@ public class PostController {
     @Resource
     private UserService userService;
 
+    @Resource
+    private PostSearchConfig postSearchConfig;
+
+    @Resource
+    private PostSuggestManager postSuggestManager;
+
     @PostMapping("/add")
     @Operation(summary = "添加帖子", description = "用户可以添加新的帖子，需传入帖子内容和标签")
     public BaseResponse<Long> addPost(@RequestBody PostAddRequest postAddRequest,
@@ -93,11 +101,10 @@ public class PostController {
         if (id <= 0) {
             throw new BusinessException(ErrorCode.PARAMS_ERROR);
         }
-        Post post = postService.getById(id);
-        if (post == null) {
+        PostVO postVO = postService.getPostVOById(id, request);
+        if (postVO == null) {
             throw new BusinessException(ErrorCode.NOT_FOUND_ERROR);
         }
-        PostVO postVO = postService.getPostVO(post, request);
         return new BaseResponse<>(0, postVO, "ok");
     }
 
@@ -116,11 +123,10 @@ public class PostController {
     @Operation(summary = "分页获取帖子 VO 列表", description = "分页获取帖子 VO 格式化后的列表，支持搜索过滤")
     public BaseResponse<Page<PostVO>> listPostVOByPage(@RequestBody PostQueryRequest postQueryRequest,
                                                        HttpServletRequest request) {
-        long currentNum = postQueryRequest.getCurrentNum();
         long pageSize = postQueryRequest.getPageSize();
         // 限制爬虫
         ThrowUtils.throwIf(pageSize > 20, ErrorCode.PARAMS_ERROR);
-        Page<Post> postPage = postService.page(new Page<>(currentNum, pageSize),
+        Page<Post> postPage = postService.page(postService.createPage(postQueryRequest),
                 postService.getQueryWrapper(postQueryRequest));
         Page<PostVO> postVOPage = postService.getPostVOPage(postPage, request);
         return new BaseResponse<>(0, postVOPage, "ok");
@@ -135,28 +141,41 @@ public class PostController {
         }
         User loginUser = userService.getLoginUser(request);
         postQueryRequest.setUserId(loginUser.getId());
-        long currentNum = postQueryRequest.getCurrentNum();
         long pageSize = postQueryRequest.getPageSize();
         // 限制爬虫
         ThrowUtils.throwIf(pageSize > 20, ErrorCode.PARAMS_ERROR);
-        Page<Post> postPage = postService.page(new Page<>(currentNum, pageSize),
+        Page<Post> postPage = postService.page(postService.createPage(postQueryRequest),
                 postService.getQueryWrapper(postQueryRequest));
         Page<PostVO> postVOPage = postService.getPostVOPage(postPage, request);
         return new BaseResponse<>(0, postVOPage, "ok");
     }
 
     @PostMapping("/search/page/vo")
-    @Operation(summary = "分页搜索帖子", description = "支持通过关键词和其他条件搜索帖子，返回 VO 格式化后的分页数据")
+    @Operation(summary = "分页搜索帖子", description = "支持通过关键词和其他条件搜索帖子，返回 VO 格式化后的分页数据；"
+            + "开启 post.search.es-only-read 时，未登录用户的结果直接由 ES 构建，content 为 null（正文不在 ES _source 中），"
+            + "需要正文时请调用帖子详情接口")
     public BaseResponse<Page<PostVO>> searchPostVOByPage(@RequestBody PostQueryRequest postQueryRequest,
                                                          HttpServletRequest request) {
         long pageSize = postQueryRequest.getPageSize();
         // 限制爬虫
         ThrowUtils.throwIf(pageSize > 20, ErrorCode.PARAMS_ERROR);
+        // 匿名用户不需要点赞、收藏状态，开启 ES 直读时不查询数据库
+        if (postSearchConfig.isEsOnlyRead() && userService.getLoginUserPermitNull(request) == null) {
+            return new BaseResponse<>(0, postService.searchPostVOFromEs(postQueryRequest), "ok");
+        }
         Page<Post> postPage = postService.searchFromEs(postQueryRequest);
         Page<PostVO> postVOPage = postService.getPostVOPage(postPage, request);
         return new BaseResponse<>(0, postVOPage, "ok");
     }
 
+    @GetMapping("/search/suggest")
+    @Operation(summary = "搜索建议", description = "根据输入前缀返回帖子标题、标签建议，只读取内存索引")
+    public BaseResponse<List<String>> suggestPost(String prefix, Integer limit) {
+        int maxLimit = postSearchConfig.getSuggestLimit();
+        int size = limit == null || limit <= 0 ? maxLimit : Math.min(limit, maxLimit);
+        return new BaseResponse<>(0, postSuggestManager.suggest(prefix, size), "ok");
+    }
+
     @PostMapping("/edit")
     @Operation(summary = "编辑帖子", description = "仅帖子作者或管理员可以编辑帖子")
     public BaseResponse<Boolean> editPost(@RequestBody PostEditRequest postEditRequest,
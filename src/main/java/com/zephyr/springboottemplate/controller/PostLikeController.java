@@ -62,11 +62,10 @@ public class PostLikeController {
             throw new BusinessException(ErrorCode.PARAMS_ERROR);
         }
         User loginUser = userService.getLoginUser(request);
-        long currentNum = postQueryRequest.getCurrentNum();
         long pageSize = postQueryRequest.getPageSize();
         // 限制爬虫
         ThrowUtils.throwIf(pageSize > 20, ErrorCode.PARAMS_ERROR);
-        Page<Post> postPage = postLikeService.listLikedPostByPage(new Page<>(currentNum, pageSize),
+        Page<Post> postPage = postLikeService.listLikedPostByPage(postService.createPage(postQueryRequest),
                 postService.getQueryWrapper(postQueryRequest), loginUser.getId());
         Page<PostVO> postVOPage = postService.getPostVOPage(postPage, request);
         return new BaseResponse<>(0, postVOPage, "ok");
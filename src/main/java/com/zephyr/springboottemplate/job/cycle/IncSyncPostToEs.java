@@ -4,93 +4,130 @@ import java.util.Date;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import com.zephyr.springboottemplate.esdao.PostEsDao;
+import com.zephyr.springboottemplate.config.PostEsSyncConfig;
+import com.zephyr.springboottemplate.manager.PostIndexManager;
+import com.zephyr.springboottemplate.manager.PostSearchCacheManager;
+import com.zephyr.springboottemplate.manager.PostSuggestManager;
 import com.zephyr.springboottemplate.mapper.PostMapper;
+import com.zephyr.springboottemplate.mapper.SyncCheckpointMapper;
 import com.zephyr.springboottemplate.model.dto.post.PostEsDTO;
 import com.zephyr.springboottemplate.model.entity.Post;
+import com.zephyr.springboottemplate.model.entity.SyncCheckpoint;
 import jakarta.annotation.Resource;
 import lombok.extern.slf4j.Slf4j;
 import cn.hutool.core.collection.CollUtil;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
 import org.springframework.scheduling.annotation.Scheduled;
 
 /**
  * 增量同步帖子到 Elasticsearch (ES)
  *
  * 功能描述：
- * 1. 定时任务，每分钟执行一次。
- * 2. 查询过去 5 分钟内新增或更新的帖子数据。
- * 3. 将帖子数据转换为 Elasticsearch 的数据传输对象 (DTO) 格式。
- * 4. 分页批量同步到 Elasticsearch。
+ * 1. 定时任务，默认每分钟执行一次（post.es-sync.inc-sync-interval-millis）。
+ * 2. 从持久化的检查点 (updateTime, id) 开始，按 (updateTime, id) 顺序分批读取新增或更新的帖子（包括已删除数据）。
+ * 3. 将帖子数据转换为 Elasticsearch 的数据传输对象 (DTO) 格式，批量同步到 Elasticsearch。
+ * 4. 每批写入成功后才推进检查点，写入失败时下次从失败的批次重新同步。
  * 5. 记录任务日志，便于监控和排查问题。
  * <p>
  * 使用场景：
  * 1. 增量同步：在运行中的系统中实时保持数据库与 Elasticsearch 数据的一致性。
- * 2. 定时更新索引：确保搜索服务的数据与实际数据库保持同步。
+ * 2. 停机恢复：任务停止一段时间后，从检查点连续追赶，不会丢失变更。
  * <p>
  * 注意：
- * 1. 当前任务采用定时触发方式，默认每分钟执行一次。
- * 2. 数据量较大时采用分页方式同步，避免内存溢出。
+ * 1. 每条变更只同步一次，不再重复同步最近 5 分钟内的全部数据。
+ * 2. 只同步 inc-sync-lag-seconds 之前更新的数据，避免未提交的事务被检查点跳过。
+ * 3. 首次运行（无检查点）时会从头同步全部帖子；全量同步完成后会写入检查点。
  */
 // todo 取消注释开启任务
 //@Component
 @Slf4j
 public class IncSyncPostToEs {
 
+    /**
+     * 检查点名称
+     */
+    public static final String CHECKPOINT_NAME = "post_es_inc_sync";
+
     // 注入 Mapper 层，用于查询数据库中帖子数据
     @Resource
     private PostMapper postMapper;
 
-    // 注入 Elasticsearch 的 DAO 层，用于将数据保存到 Elasticsearch
+    // 注入帖子索引管理器，用于按外部版本号将数据保存到 Elasticsearch
+    @Resource
+    private PostIndexManager postIndexManager;
+
+    @Resource
+    private SyncCheckpointMapper syncCheckpointMapper;
+
+    @Resource
+    private PostEsSyncConfig postEsSyncConfig;
+
     @Resource
-    private PostEsDao postEsDao;
+    private PostSearchCacheManager postSearchCacheManager;
+
+    @Resource
+    private PostSuggestManager postSuggestManager;
 
     /**
-     * 定时任务：每分钟执行一次，增量同步数据到 Elasticsearch。
-     *
-     * 查询规则：
-     * 1. 查找最近 5 分钟内新增或修改的帖子数据，包括已删除数据（用于更新索引或删除操作）。
-     * 2. 数据为空时跳过同步。
-     * 3. 分页保存到 Elasticsearch。
+     * 定时任务：从检查点开始增量同步数据到 Elasticsearch，直到追上最新数据。
      */
-    @Scheduled(fixedRate = 60 * 1000)
+    @Scheduled(fixedDelayString = "${post.es-sync.inc-sync-interval-millis:60000}")
     public void run() {
-        // 计算 5 分钟前的时间点
-        Date fiveMinutesAgoDate = new Date(new Date().getTime() - 5 * 60 * 1000L);
-
-        // 查询过去 5 分钟内新增、修改或删除的帖子数据
-        List<Post> postList = postMapper.listPostWithDelete(fiveMinutesAgoDate);
-
-        // 如果没有增量数据，记录日志并退出
-        if (CollUtil.isEmpty(postList)) {
-            log.info("no inc post");
-            return;
+        // 进程内首次运行时加载搜索建议索引，之后随增量同步更新
+        if (!postSuggestManager.isLoaded()) {
+            postSuggestManager.loadAll();
         }
 
-        // 将帖子实体数据转换为 Elasticsearch 数据传输对象 (DTO)
-        List<PostEsDTO> postEsDTOList = postList.stream()
-                .map(PostEsDTO::objToDto) // 调用静态方法将实体转换为 DTO
-                .collect(Collectors.toList());
+        // 1. 读取检查点
+        SyncCheckpoint checkpoint = syncCheckpointMapper.selectById(CHECKPOINT_NAME);
+        Date lastUpdateTime = checkpoint == null ? new Date(0) : checkpoint.getLastUpdateTime();
+        long lastId = checkpoint == null ? 0 : checkpoint.getLastId();
 
-        // 定义分页大小，避免一次性加载过多数据导致内存溢出
-        final int pageSize = 500;
-        int total = postEsDTOList.size();
+        final int batchSize = Math.max(postEsSyncConfig.getIncSyncBatchSize(), 1);
+        Date maxUpdateTime = new Date(System.currentTimeMillis() - postEsSyncConfig.getIncSyncLagSeconds() * 1000);
+        long total = 0;
 
-        // 记录任务开始日志
-        log.info("IncSyncPostToEs start, total {}", total);
+        // 2. 分批读取、写入，每批成功后推进检查点
+        while (true) {
+            List<Post> postList = postMapper.listPostWithDelete(lastUpdateTime, lastId, maxUpdateTime, batchSize);
+            if (CollUtil.isEmpty(postList)) {
+                break;
+            }
 
-        // 分页处理数据
-        for (int i = 0; i < total; i += pageSize) {
-            // 计算当前分页的结束索引
-            int end = Math.min(i + pageSize, total);
+            // 将帖子实体数据转换为 Elasticsearch 数据传输对象 (DTO)
+            List<PostEsDTO> postEsDTOList = postList.stream()
+                    .map(PostEsDTO::objToDto) // 调用静态方法将实体转换为 DTO
+                    .collect(Collectors.toList());
+            try {
+                postIndexManager.save(postEsDTOList, IndexCoordinates.of(PostIndexManager.ALIAS));
+                // 索引已变化，使搜索结果缓存失效
+                postSearchCacheManager.bumpGeneration();
+                postSuggestManager.update(postList);
+            } catch (Exception e) {
+                // 检查点不推进，下次从该批次重新同步
+                log.error("IncSyncPostToEs error, checkpoint ({}, {})", lastUpdateTime, lastId, e);
+                break;
+            }
 
-            // 记录当前同步的范围
-            log.info("sync from {} to {}", i, end);
+            Post lastPost = postList.get(postList.size() - 1);
+            lastUpdateTime = lastPost.getUpdateTime();
+            lastId = lastPost.getId();
+            syncCheckpointMapper.upsert(CHECKPOINT_NAME, lastUpdateTime, lastId);
+            total += postList.size();
 
-            // 将当前分页的数据保存到 Elasticsearch
-            postEsDao.saveAll(postEsDTOList.subList(i, end));
+            if (postList.size() < batchSize) {
+                break;
+            }
         }
 
+        // 3. 发布搜索建议索引的变化
+        postSuggestManager.publish();
+
         // 记录任务结束日志
-        log.info("IncSyncPostToEs end, total {}", total);
+        if (total == 0) {
+            log.info("no inc post");
+        } else {
+            log.info("IncSyncPostToEs end, total {}, checkpoint ({}, {})", total, lastUpdateTime, lastId);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,80 @@
+package com.zephyr.springboottemplate.job.once;
+
+import cn.hutool.core.collection.CollUtil;
+import cn.hutool.json.JSONUtil;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.zephyr.springboottemplate.manager.HotTagIndexManager;
+import com.zephyr.springboottemplate.model.entity.Post;
+import com.zephyr.springboottemplate.service.PostService;
+import com.zephyr.springboottemplate.service.PostTagService;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.boot.CommandLineRunner;
+
+import java.util.List;
+
+/**
+ * 回填帖子标签倒排索引（post_tag）
+ *
+ * 功能描述：
+ * 1. 在系统启动时运行（需要启用 @Component 注解）。
+ * 2. 按 id 顺序分批读取帖子（id > 上一批最大 id），避免 offset 深分页与一次性加载全部数据。
+ * 3. 解析帖子的 tags JSON 字段，同步到 tag / post_tag 表（已存在的关联不会重复写入，可重复执行）。
+ * 4. 回填结束后刷新热门标签进程内索引。
+ * <p>
+ * 使用场景：
+ * 1. 首次上线标签倒排索引时，为存量帖子建立索引。
+ * 2. 索引修复：post_tag 与帖子 tags 字段不一致时重新同步。
+ * <p>
+ * 注意：
+ * 1. 当前为一次性任务（类名中的 "once" 表示），需手动启用。
+ * 2. 批量大小默认为 500，可根据数据量调整。
+ */
+// todo 取消注释开启任务
+//@Component
+@Slf4j
+public class BackfillPostTag implements CommandLineRunner {
+
+    @Resource
+    private PostService postService;
+
+    @Resource
+    private PostTagService postTagService;
+
+    @Resource
+    private HotTagIndexManager hotTagIndexManager;
+
+    /**
+     * 任务执行方法，系统启动时触发。
+     *
+     * @param args 启动参数（未使用）
+     */
+    @Override
+    public void run(String... args) {
+        final int pageSize = 500;
+        long lastId = 0;
+        long total = 0;
+        log.info("BackfillPostTag start");
+        while (true) {
+            List<Post> postList = postService.list(new QueryWrapper<Post>()
+                    .select("id", "tags")
+                    .gt("id", lastId)
+                    .orderByAsc("id")
+                    .last("limit " + pageSize));
+            if (CollUtil.isEmpty(postList)) {
+                break;
+            }
+            for (Post post : postList) {
+                String tags = post.getTags();
+                List<String> tagList = StringUtils.isBlank(tags) ? null : JSONUtil.toList(tags, String.class);
+                postTagService.syncPostTags(post.getId(), tagList);
+            }
+            lastId = postList.get(postList.size() - 1).getId();
+            total += postList.size();
+            log.info("backfill to id {}, total {}", lastId, total);
+        }
+        hotTagIndexManager.refresh();
+        log.info("BackfillPostTag end, total {}", total);
+    }
+}
@@ -1,48 +1,92 @@
 package com.zephyr.springboottemplate.job.once;
 
 
+import java.util.Collections;
+import java.util.Date;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
-import com.zephyr.springboottemplate.esdao.PostEsDao;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.zephyr.springboottemplate.config.PostEsSyncConfig;
+import com.zephyr.springboottemplate.job.cycle.IncSyncPostToEs;
+import com.zephyr.springboottemplate.manager.PostIndexManager;
+import com.zephyr.springboottemplate.manager.PostSearchCacheManager;
+import com.zephyr.springboottemplate.manager.PostSuggestManager;
+import com.zephyr.springboottemplate.mapper.PostMapper;
+import com.zephyr.springboottemplate.mapper.SyncCheckpointMapper;
 import com.zephyr.springboottemplate.model.dto.post.PostEsDTO;
 import com.zephyr.springboottemplate.model.entity.Post;
+import com.zephyr.springboottemplate.model.entity.SyncCheckpoint;
 import com.zephyr.springboottemplate.service.PostService;
 import jakarta.annotation.Resource;
 import lombok.extern.slf4j.Slf4j;
 import cn.hutool.core.collection.CollUtil;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
 
 /**
  * 全量同步帖子到 Elasticsearch (ES)
  *
  * 功能描述：
  * 1. 在系统启动时运行（需要启用 @Component 注解）。
- * 2. 从数据库中获取所有帖子数据。
- * 3. 将帖子数据转换为 Elasticsearch 的数据传输对象 (DTO) 格式。
- * 4. 分页批量同步数据到 Elasticsearch。
- * 5. 记录日志，便于监控任务执行情况。
+ * 2. 按 id 顺序分批读取帖子（id > 上一批最大 id），不会一次性加载整张表。
+ * 3. 将帖子数据转换为 Elasticsearch 的数据传输对象 (DTO) 格式，放入有界队列。
+ * 4. 多个写入线程从队列中取出批次，并发批量同步到 Elasticsearch。
+ * 5. 记录进度与吞吐量日志，便于监控任务执行情况。
+ * <p>
+ * 同步模式（post.es-sync.full-sync-mode）：
+ * 1. in-place：直接写入当前索引，同步期间搜索可能看到不完整的结果。
+ * 2. blue-green：写入新版本索引（导入期间关闭刷新和副本），导入完成后从同步开始时间点追赶增量，
+ *    再原子切换别名，切换后再追赶一次切换期间写入旧索引的变更；旧索引保留用于回滚。
  * <p>
  * 使用场景：
  * 1. 初始化搜索索引：首次部署搜索系统时，将数据库中的数据加载到 Elasticsearch。
  * 2. 索引修复：当 Elasticsearch 数据损坏或丢失时重新同步。
+ * 3. 索引重建：修改映射后使用 blue-green 模式零停机重建。
  * <p>
  * 注意：
  * 1. 当前为一次性任务（类名中的 "once" 表示），需手动启用。
- * 2. 批量同步的分页大小默认为 500，可根据数据量调整。
+ * 2. 批量大小、写入线程数、队列容量通过 post.es-sync 配置，
+ *    内存中最多同时存在 (队列容量 + 写入线程数 + 1) 批数据，与表的总数据量无关。
+ * 3. 全部批次成功时写入增量同步检查点，增量同步从本次同步追赶到的位置继续。
  */
 // todo 取消注释开启任务
 //@Component
 @Slf4j
 public class FullSyncPostToEs implements CommandLineRunner {
 
+    /**
+     * 蓝绿模式
+     */
+    private static final String MODE_BLUE_GREEN = "blue-green";
+
     // 注入服务层，用于从数据库中查询帖子数据
     @Resource
     private PostService postService;
 
-    // 注入 Elasticsearch 的 DAO 层，用于将数据保存到 Elasticsearch
     @Resource
-    private PostEsDao postEsDao;
+    private PostMapper postMapper;
+
+    @Resource
+    private PostIndexManager postIndexManager;
+
+    @Resource
+    private PostEsSyncConfig postEsSyncConfig;
+
+    @Resource
+    private SyncCheckpointMapper syncCheckpointMapper;
+
+    @Resource
+    private PostSearchCacheManager postSearchCacheManager;
+
+    @Resource
+    private PostSuggestManager postSuggestManager;
 
     /**
      * 任务执行方法，系统启动时触发。
@@ -50,40 +94,166 @@ public class FullSyncPostToEs implements CommandLineRunner {
      * @param args 启动参数（未使用）
      */
     @Override
-    public void run(String... args) {
-        // 从数据库中查询所有帖子数据
-        List<Post> postList = postService.list();
+    public void run(String... args) throws InterruptedException {
+        boolean blueGreen = MODE_BLUE_GREEN.equals(postEsSyncConfig.getFullSyncMode());
+        long start = System.currentTimeMillis();
+        // 开始前已提交的变更都会被本次全量同步覆盖，增量从该时间点开始追赶即可
+        SyncCheckpoint checkpoint = new SyncCheckpoint();
+        checkpoint.setLastUpdateTime(new Date(start - postEsSyncConfig.getIncSyncLagSeconds() * 1000));
+        checkpoint.setLastId(0L);
+
+        // 1. 确定写入目标：蓝绿模式写入新版本索引，否则直接写入别名（别名不存在时按显式映射创建）
+        if (!blueGreen) {
+            postIndexManager.ensureIndex();
+        }
+        String indexName = blueGreen ? postIndexManager.createBulkLoadIndex() : PostIndexManager.ALIAS;
+        IndexCoordinates index = IndexCoordinates.of(indexName);
+
+        // 记录任务开始日志
+        log.info("FullSyncPostToEs start, mode {}, index {}", postEsSyncConfig.getFullSyncMode(), indexName);
 
-        // 如果帖子数据为空，直接返回，避免执行后续操作
-        if (CollUtil.isEmpty(postList)) {
+        // 2. 全量导入
+        long failed = bulkLoad(index, start);
+        if (failed > 0) {
+            // 蓝绿模式下不切换别名，线上索引不受影响
+            log.error("FullSyncPostToEs failed, {} posts not synced, index {}", failed, indexName);
             return;
         }
 
-        // 将帖子实体数据转换为 Elasticsearch 数据传输对象 (DTO)
-        List<PostEsDTO> postEsDTOList = postList.stream()
-                .map(PostEsDTO::objToDto) // 调用静态方法将实体转换为 DTO
-                .collect(Collectors.toList());
+        if (blueGreen) {
+            // 3. 恢复刷新和副本设置，追赶导入期间的变更后切换别名
+            postIndexManager.finishBulkLoad(indexName);
+            checkpoint = catchUp(index, checkpoint);
+            List<String> oldIndexList = postIndexManager.swapAlias(indexName);
 
-        // 定义分页大小，避免一次性加载过多数据导致内存溢出
-        final int pageSize = 500;
-        int total = postEsDTOList.size();
+            // 4. 切换前增量同步仍可能写入旧索引，等待延迟窗口后再追赶一次
+            Thread.sleep(postEsSyncConfig.getIncSyncLagSeconds() * 1000);
+            checkpoint = catchUp(index, checkpoint);
+            log.info("post index swapped to {}, old index {} kept for rollback", indexName, oldIndexList);
+        }
 
-        // 记录任务开始日志
-        log.info("FullSyncPostToEs start, total {}", total);
+        // 5. 索引内容已整体变化，使搜索结果缓存失效，并发布重建的搜索建议索引
+        postSearchCacheManager.bumpGeneration();
+        postSuggestManager.markLoaded();
+        postSuggestManager.publish();
+
+        // 6. 写入增量同步检查点，避免增量同步从头开始
+        syncCheckpointMapper.upsert(IncSyncPostToEs.CHECKPOINT_NAME, checkpoint.getLastUpdateTime(), checkpoint.getLastId());
+
+        // 记录任务结束日志
+        log.info("FullSyncPostToEs end, cost {} ms", System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 读取全部帖子，并发写入指定索引
+     *
+     * @param index 目标索引
+     * @param start 任务开始时间
+     * @return 写入失败的帖子数
+     */
+    private long bulkLoad(IndexCoordinates index, long start) throws InterruptedException {
+        final int batchSize = Math.max(postEsSyncConfig.getFullSyncBatchSize(), 1);
+        final int workers = Math.max(postEsSyncConfig.getFullSyncWorkers(), 1);
+        BlockingQueue<List<PostEsDTO>> queue = new ArrayBlockingQueue<>(Math.max(postEsSyncConfig.getFullSyncQueueCapacity(), 1));
+        // 空批次作为结束标记，每个写入线程消费一个
+        final List<PostEsDTO> endMarker = Collections.emptyList();
 
-        // 分页处理数据
-        for (int i = 0; i < total; i += pageSize) {
-            // 计算当前分页的结束索引
-            int end = Math.min(i + pageSize, total);
+        AtomicLong synced = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
 
-            // 记录当前同步的范围
-            log.info("sync from {} to {}", i, end);
+        // 1. 启动写入线程：从队列中取批次写入 Elasticsearch
+        ExecutorService executorService = Executors.newFixedThreadPool(workers);
+        for (int i = 0; i < workers; i++) {
+            executorService.execute(() -> {
+                while (true) {
+                    List<PostEsDTO> batch;
+                    try {
+                        batch = queue.take();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    if (batch == endMarker) {
+                        return;
+                    }
+                    try {
+                        postIndexManager.save(batch, index);
+                        long total = synced.addAndGet(batch.size());
+                        long elapsed = Math.max(System.currentTimeMillis() - start, 1);
+                        log.info("synced {}, {} posts/s", total, total * 1000 / elapsed);
+                    } catch (Exception e) {
+                        // 单批失败不影响其他批次，结束后可根据日志中的 id 范围重试
+                        failed.addAndGet(batch.size());
+                        log.error("sync batch error, id from {} to {}",
+                                batch.get(0).getId(), batch.get(batch.size() - 1).getId(), e);
+                    }
+                }
+            });
+        }
 
-            // 将当前分页的数据保存到 Elasticsearch
-            postEsDao.saveAll(postEsDTOList.subList(i, end));
+        // 2. 按 id 分批读取数据库，放入有界队列（队列满时阻塞，控制内存占用）
+        long lastId = 0;
+        long read = 0;
+        try {
+            while (true) {
+                List<Post> postList = postService.list(new QueryWrapper<Post>()
+                        .gt("id", lastId)
+                        .orderByAsc("id")
+                        .last("limit " + batchSize));
+                if (CollUtil.isEmpty(postList)) {
+                    break;
+                }
+                lastId = postList.get(postList.size() - 1).getId();
+                read += postList.size();
+                postSuggestManager.update(postList); // 同时构建搜索建议索引
+                queue.put(postList.stream()
+                        .map(PostEsDTO::objToDto) // 调用静态方法将实体转换为 DTO
+                        .collect(Collectors.toList()));
+            }
+        } finally {
+            // 3. 通知写入线程结束，并等待剩余批次写完
+            for (int i = 0; i < workers; i++) {
+                queue.put(endMarker);
+            }
+            executorService.shutdown();
+            executorService.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
         }
 
-        // 记录任务结束日志
-        log.info("FullSyncPostToEs end, total {}", total);
+        long elapsed = Math.max(System.currentTimeMillis() - start, 1);
+        log.info("bulk load end, read {}, synced {}, failed {}, cost {} ms, {} posts/s",
+                read, synced.get(), failed.get(), elapsed, synced.get() * 1000 / elapsed);
+        return failed.get();
+    }
+
+    /**
+     * 从检查点开始，按 (updateTime, id) 顺序将变更写入指定索引
+     *
+     * @param index      目标索引
+     * @param checkpoint 起始检查点
+     * @return 追赶到的检查点
+     */
+    private SyncCheckpoint catchUp(IndexCoordinates index, SyncCheckpoint checkpoint) {
+        final int batchSize = Math.max(postEsSyncConfig.getIncSyncBatchSize(), 1);
+        Date lastUpdateTime = checkpoint.getLastUpdateTime();
+        long lastId = checkpoint.getLastId();
+        Date maxUpdateTime = new Date(System.currentTimeMillis() - postEsSyncConfig.getIncSyncLagSeconds() * 1000);
+        long total = 0;
+        while (true) {
+            List<Post> postList = postMapper.listPostWithDelete(lastUpdateTime, lastId, maxUpdateTime, batchSize);
+            if (CollUtil.isEmpty(postList)) {
+                break;
+            }
+            postIndexManager.save(postList.stream().map(PostEsDTO::objToDto).collect(Collectors.toList()), index);
+            postSuggestManager.update(postList);
+            Post lastPost = postList.get(postList.size() - 1);
+            lastUpdateTime = lastPost.getUpdateTime();
+            lastId = lastPost.getId();
+            total += postList.size();
+        }
+        log.info("catch up {} posts, checkpoint ({}, {})", total, lastUpdateTime, lastId);
+        SyncCheckpoint result = new SyncCheckpoint();
+        result.setLastUpdateTime(lastUpdateTime);
+        result.setLastId(lastId);
+        return result;
     }
-}
\ No newline at end of file
+}
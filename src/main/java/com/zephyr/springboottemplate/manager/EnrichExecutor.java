@@ -0,0 +1,151 @@
+package com.zephyr.springboottemplate.manager;
+
+import com.zephyr.springboottemplate.aop.SqlStats;
+import com.zephyr.springboottemplate.common.ErrorCode;
+import com.zephyr.springboottemplate.config.EnrichExecutorConfig;
+import com.zephyr.springboottemplate.exception.BusinessException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 数据填充执行器
+ *
+ * <p>
+ * 用于并发执行渲染页面时互不依赖的关联查询，将总耗时从各查询之和降为其中最慢的一个。
+ * 提交的任务会继承调用线程的请求上下文（{@link RequestContextHolder}）、日志 MDC 和 SQL 统计（{@link SqlStats}），
+ * 线程池饱和时任务直接在调用线程中执行，不会排队阻塞。
+ * 任务开始执行前会检查截止时间，已超时（调用方已放弃等待）的任务直接结束，不再使用请求上下文。
+ * </p>
+ */
+@Component
+@Slf4j
+public class EnrichExecutor {
+
+    @Resource
+    private EnrichExecutorConfig enrichExecutorConfig;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "enrich-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        // 不排队时使用 SynchronousQueue：空闲线程不足时直接扩容，达到上限后拒绝，由调用线程执行
+        BlockingQueue<Runnable> workQueue = enrichExecutorConfig.getQueueCapacity() > 0
+                ? new ArrayBlockingQueue<>(enrichExecutorConfig.getQueueCapacity())
+                : new SynchronousQueue<>();
+        executor = new ThreadPoolExecutor(enrichExecutorConfig.getCoreSize(), enrichExecutorConfig.getMaxSize(),
+                60, TimeUnit.SECONDS, workQueue, threadFactory, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    /**
+     * 计算本次请求的截止时间
+     *
+     * @return 截止时间（{@link System#nanoTime()} 时间基准）
+     */
+    public long deadline() {
+        return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(enrichExecutorConfig.getTimeoutMillis());
+    }
+
+    /**
+     * 提交填充任务
+     *
+     * @param task     查询任务
+     * @param deadline 截止时间（{@link #deadline()} 返回值），到期后尚未开始的任务不再执行
+     * @param <T>      结果类型
+     * @return 任务结果；未开启或线程池饱和时为已在调用线程中完成的结果
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task, long deadline) {
+        if (!enrichExecutorConfig.isEnabled()) {
+            return CompletableFuture.completedFuture(task.get());
+        }
+        try {
+            return CompletableFuture.supplyAsync(wrap(task, deadline), executor);
+        } catch (RejectedExecutionException e) {
+            // 线程池饱和，退化为顺序执行
+            log.debug("enrich executor saturated, run in caller thread");
+            return CompletableFuture.completedFuture(task.get());
+        }
+    }
+
+    /**
+     * 在截止时间前等待任务结果
+     *
+     * @param future   任务
+     * @param deadline 截止时间（{@link #deadline()} 返回值）
+     * @param <T>      结果类型
+     * @return 任务结果
+     */
+    public <T> T join(CompletableFuture<T> future, long deadline) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new BusinessException(ErrorCode.SYSTEM_ERROR, "查询超时");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ErrorCode.SYSTEM_ERROR);
+        } catch (ExecutionException e) {
+            // 还原任务中抛出的原始异常
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new BusinessException(ErrorCode.SYSTEM_ERROR);
+        }
+    }
+
+    /**
+     * 包装任务，在工作线程中恢复调用线程的请求上下文、MDC 和 SQL 统计
+     * CompletableFuture 的取消不会中断工作线程，因此在恢复请求上下文前检查截止时间，避免使用已结束请求的上下文
+     */
+    private <T> Supplier<T> wrap(Supplier<T> task, long deadline) {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        Map<String, String> mdcContext = MDC.getCopyOfContextMap();
+        SqlStats sqlStats = SqlStats.current();
+        return () -> {
+            if (System.nanoTime() - deadline >= 0) {
+                throw new CancellationException("enrich task expired before start");
+            }
+            RequestAttributes previousAttributes = RequestContextHolder.getRequestAttributes();
+            Map<String, String> previousMdc = MDC.getCopyOfContextMap();
+            SqlStats previousSqlStats = SqlStats.current();
+            RequestContextHolder.setRequestAttributes(requestAttributes);
+            SqlStats.bind(sqlStats);
+            if (mdcContext != null) {
+                MDC.setContextMap(mdcContext);
+            }
+            try {
+                return task.get();
+            } finally {
+                RequestContextHolder.setRequestAttributes(previousAttributes);
+                SqlStats.bind(previousSqlStats);
+                if (previousMdc != null) {
+                    MDC.setContextMap(previousMdc);
+                } else {
+                    MDC.clear();
+                }
+            }
+        };
+    }
+}
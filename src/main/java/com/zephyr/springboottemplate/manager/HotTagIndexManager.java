@@ -0,0 +1,211 @@
+package com.zephyr.springboottemplate.manager;
+
+import com.zephyr.springboottemplate.config.TagIndexConfig;
+import com.zephyr.springboottemplate.mapper.PostTagMapper;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * 热门标签索引管理器
+ *
+ * <p>
+ * 在进程内为关联帖子数最多的标签维护有序的帖子 ID 数组（标签 -> 帖子 ID 位图的紧凑表示），
+ * 标签的 AND / OR 过滤可直接通过有序数组求交 / 并完成，无需访问数据库。
+ * </p>
+ * <p>
+ * 索引定时从 post_tag 表全量刷新；帖子标签变化时通过 {@link #onPostTagsChanged} 增量更新，
+ * 刷新期间发生的变化会在新索引生效前重放，避免丢失。
+ * </p>
+ */
+@Component
+@Slf4j
+public class HotTagIndexManager {
+
+    @Resource
+    private TagIndexConfig tagIndexConfig;
+
+    @Resource
+    private PostTagMapper postTagMapper;
+
+    /**
+     * 标签 ID -> 有序帖子 ID 数组，整体替换，读取无需加锁
+     */
+    private volatile Map<Long, long[]> tagPostIdsMap = Collections.emptyMap();
+
+    /**
+     * 是否正在刷新
+     */
+    private boolean refreshing = false;
+
+    /**
+     * 刷新期间发生的变化，新索引生效前重放
+     */
+    private final List<Runnable> pendingChanges = new ArrayList<>();
+
+    /**
+     * 定时全量刷新热门标签索引
+     */
+    @Scheduled(fixedDelayString = "${post.tag-index.refresh-interval-millis:300000}")
+    public void refresh() {
+        int hotTagCount = tagIndexConfig.getHotTagCount();
+        if (hotTagCount <= 0) {
+            return;
+        }
+        synchronized (this) {
+            refreshing = true;
+            pendingChanges.clear();
+        }
+        Map<Long, long[]> newTagPostIdsMap = new HashMap<>();
+        try {
+            int maxPostsPerTag = tagIndexConfig.getMaxPostsPerTag();
+            for (Long tagId : postTagMapper.listHotTagIds(hotTagCount)) {
+                List<Long> postIdList = postTagMapper.listPostIdsByTagId(tagId, maxPostsPerTag + 1);
+                // 帖子过多的标签不放入进程内索引，避免占用过多内存
+                if (postIdList.size() <= maxPostsPerTag) {
+                    newTagPostIdsMap.put(tagId, postIdList.stream().mapToLong(Long::longValue).toArray());
+                }
+            }
+        } catch (Exception e) {
+            log.error("refresh hot tag index error", e);
+            synchronized (this) {
+                refreshing = false;
+                pendingChanges.clear();
+            }
+            return;
+        }
+        synchronized (this) {
+            tagPostIdsMap = newTagPostIdsMap;
+            pendingChanges.forEach(Runnable::run);
+            pendingChanges.clear();
+            refreshing = false;
+        }
+        log.info("hot tag index refreshed, tags: {}", newTagPostIdsMap.size());
+    }
+
+    /**
+     * 帖子标签变化后增量更新索引
+     *
+     * @param postId        帖子 ID
+     * @param removedTagIds 移除的标签 ID
+     * @param addedTagIds   新增的标签 ID
+     */
+    public synchronized void onPostTagsChanged(long postId, Collection<Long> removedTagIds, Collection<Long> addedTagIds) {
+        Runnable change = () -> {
+            Map<Long, long[]> newTagPostIdsMap = null;
+            for (Long tagId : removedTagIds) {
+                newTagPostIdsMap = patch(newTagPostIdsMap, tagId, postId, false);
+            }
+            for (Long tagId : addedTagIds) {
+                newTagPostIdsMap = patch(newTagPostIdsMap, tagId, postId, true);
+            }
+            if (newTagPostIdsMap != null) {
+                tagPostIdsMap = newTagPostIdsMap;
+            }
+        };
+        change.run();
+        if (refreshing) {
+            pendingChanges.add(change);
+        }
+    }
+
+    /**
+     * 使用热门标签索引计算满足标签条件的帖子 ID
+     *
+     * @param andTagIds 必须全部包含的标签 ID
+     * @param orTagIds  至少包含其中一个的标签 ID
+     * @return 有序帖子 ID 数组；存在非热门标签、无法仅用索引回答时返回 null
+     */
+    public long[] match(Collection<Long> andTagIds, Collection<Long> orTagIds) {
+        Map<Long, long[]> snapshot = tagPostIdsMap;
+        if (andTagIds.isEmpty() && orTagIds.isEmpty()) {
+            return null;
+        }
+        long[] result = null;
+        for (Long tagId : andTagIds) {
+            long[] postIds = snapshot.get(tagId);
+            if (postIds == null) {
+                return null;
+            }
+            result = result == null ? postIds : intersect(result, postIds);
+        }
+        if (!orTagIds.isEmpty()) {
+            long[] union = new long[0];
+            for (Long tagId : orTagIds) {
+                long[] postIds = snapshot.get(tagId);
+                if (postIds == null) {
+                    return null;
+                }
+                union = union(union, postIds);
+            }
+            result = result == null ? union : intersect(result, union);
+        }
+        return result;
+    }
+
+    /**
+     * 在标签对应的数组中插入 / 删除帖子 ID（写时复制），非热门标签忽略
+     */
+    private Map<Long, long[]> patch(Map<Long, long[]> newTagPostIdsMap, long tagId, long postId, boolean added) {
+        Map<Long, long[]> source = newTagPostIdsMap == null ? tagPostIdsMap : newTagPostIdsMap;
+        long[] postIds = source.get(tagId);
+        if (postIds == null) {
+            return newTagPostIdsMap;
+        }
+        int index = Arrays.binarySearch(postIds, postId);
+        long[] updated;
+        if (added && index < 0) {
+            int insertAt = -index - 1;
+            updated = new long[postIds.length + 1];
+            System.arraycopy(postIds, 0, updated, 0, insertAt);
+            updated[insertAt] = postId;
+            System.arraycopy(postIds, insertAt, updated, insertAt + 1, postIds.length - insertAt);
+        } else if (!added && index >= 0) {
+            updated = new long[postIds.length - 1];
+            System.arraycopy(postIds, 0, updated, 0, index);
+            System.arraycopy(postIds, index + 1, updated, index, postIds.length - index - 1);
+        } else {
+            return newTagPostIdsMap;
+        }
+        Map<Long, long[]> target = newTagPostIdsMap == null ? new HashMap<>(tagPostIdsMap) : newTagPostIdsMap;
+        target.put(tagId, updated);
+        return target;
+    }
+
+    private static long[] intersect(long[] a, long[] b) {
+        long[] result = new long[Math.min(a.length, b.length)];
+        int i = 0, j = 0, k = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[k++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, k);
+    }
+
+    private static long[] union(long[] a, long[] b) {
+        long[] result = new long[a.length + b.length];
+        int i = 0, j = 0, k = 0;
+        while (i < a.length || j < b.length) {
+            if (j >= b.length || (i < a.length && a[i] < b[j])) {
+                result[k++] = a[i++];
+            } else if (i >= a.length || a[i] > b[j]) {
+                result[k++] = b[j++];
+            } else {
+                result[k++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, k);
+    }
+}
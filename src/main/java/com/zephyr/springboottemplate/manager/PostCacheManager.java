@@ -0,0 +1,168 @@
+package com.zephyr.springboottemplate.manager;
+
+import cn.hutool.cache.CacheUtil;
+import cn.hutool.cache.impl.LRUCache;
+import cn.hutool.json.JSONUtil;
+import com.zephyr.springboottemplate.config.PostCacheConfig;
+import com.zephyr.springboottemplate.model.vo.PostVO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongFunction;
+
+/**
+ * 帖子详情二级缓存管理器
+ *
+ * <p>
+ * 缓存帖子详情中与登录用户无关的部分（帖子本身 + 作者 UserVO），
+ * 是否点赞、是否收藏等与用户相关的字段不会进入缓存，由调用方实时计算。
+ * </p>
+ * <p>
+ * 读取顺序：进程内 LRU 缓存 -> Redis -> 数据库（loader）。
+ * 写入帖子、删除帖子或更新点赞数 / 收藏数时，需调用 {@link #evict(long)} 使缓存失效；
+ * 在事务内修改帖子时调用 {@link #evictAfterCommit(long)}。
+ * </p>
+ */
+@Component
+@Slf4j
+public class PostCacheManager {
+
+    /**
+     * Redis 缓存键前缀
+     */
+    private static final String REDIS_KEY_PREFIX = "post:vo:";
+
+    @Resource
+    private PostCacheConfig postCacheConfig;
+
+    /**
+     * Redis 客户端，未开启 Redis 时为 null，此时只使用进程内缓存
+     */
+    @Autowired(required = false)
+    private StringRedisTemplate stringRedisTemplate;
+
+    /**
+     * 进程内 LRU 缓存
+     */
+    private LRUCache<Long, PostVO> localCache;
+
+    @PostConstruct
+    public void init() {
+        localCache = CacheUtil.newLRUCache(postCacheConfig.getLocalMaxSize(),
+                TimeUnit.SECONDS.toMillis(postCacheConfig.getLocalTtlSeconds()));
+    }
+
+    /**
+     * 获取帖子详情缓存，未命中时通过 loader 加载并回填
+     *
+     * @param postId 帖子 ID
+     * @param loader 未命中时的加载方法，返回 null 表示帖子不存在（不缓存）
+     * @return 帖子详情副本，调用方可以放心修改；帖子不存在时返回 null
+     */
+    public PostVO get(long postId, LongFunction<PostVO> loader) {
+        if (!postCacheConfig.isEnabled()) {
+            return loader.apply(postId);
+        }
+
+        // 1. 进程内缓存
+        PostVO postVO = localCache.get(postId);
+        if (postVO != null) {
+            return copyOf(postVO);
+        }
+
+        // 2. Redis 缓存
+        postVO = getFromRedis(postId);
+        if (postVO == null) {
+            // 3. 数据库
+            postVO = loader.apply(postId);
+            if (postVO == null) {
+                return null;
+            }
+            postVO.setHasLike(null);
+            postVO.setHasCollect(null);
+            putToRedis(postId, postVO);
+        }
+        localCache.put(postId, postVO);
+        return copyOf(postVO);
+    }
+
+    /**
+     * 使指定帖子的缓存失效
+     *
+     * @param postId 帖子 ID
+     */
+    public void evict(long postId) {
+        localCache.remove(postId);
+        if (stringRedisTemplate == null) {
+            return;
+        }
+        try {
+            stringRedisTemplate.delete(REDIS_KEY_PREFIX + postId);
+        } catch (Exception e) {
+            log.warn("evict post cache from redis error, postId: {}", postId, e);
+        }
+    }
+
+    /**
+     * 在事务内使缓存失效：立即失效一次，事务提交后再失效一次
+     * 提交前并发读取可能将旧数据重新写入缓存，提交后的失效保证缓存不会长期保留旧数据
+     *
+     * @param postId 帖子 ID
+     */
+    public void evictAfterCommit(long postId) {
+        evict(postId);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(postId);
+            }
+        });
+    }
+
+    private PostVO getFromRedis(long postId) {
+        if (stringRedisTemplate == null) {
+            return null;
+        }
+        try {
+            String json = stringRedisTemplate.opsForValue().get(REDIS_KEY_PREFIX + postId);
+            return StringUtils.isBlank(json) ? null : JSONUtil.toBean(json, PostVO.class);
+        } catch (Exception e) {
+            // Redis 不可用时降级为直接查库
+            log.warn("get post cache from redis error, postId: {}", postId, e);
+            return null;
+        }
+    }
+
+    private void putToRedis(long postId, PostVO postVO) {
+        if (stringRedisTemplate == null) {
+            return;
+        }
+        try {
+            stringRedisTemplate.opsForValue().set(REDIS_KEY_PREFIX + postId, JSONUtil.toJsonStr(postVO),
+                    postCacheConfig.getRedisTtlSeconds(), TimeUnit.SECONDS);
+        } catch (Exception e) {
+            log.warn("put post cache to redis error, postId: {}", postId, e);
+        }
+    }
+
+    /**
+     * 复制缓存对象，避免调用方设置用户相关字段时污染缓存
+     */
+    private static PostVO copyOf(PostVO source) {
+        PostVO target = new PostVO();
+        BeanUtils.copyProperties(source, target);
+        return target;
+    }
+}
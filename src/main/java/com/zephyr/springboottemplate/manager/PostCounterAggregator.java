@@ -0,0 +1,330 @@
+package com.zephyr.springboottemplate.manager;
+
+import com.zephyr.springboottemplate.config.PostCounterConfig;
+import com.zephyr.springboottemplate.config.PostSearchConfig;
+import com.zephyr.springboottemplate.mapper.PostMapper;
+import com.zephyr.springboottemplate.model.dto.post.PostCountDelta;
+import com.zephyr.springboottemplate.model.vo.PostVO;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 帖子点赞数 / 收藏数聚合写管理器
+ *
+ * <p>
+ * 点赞、收藏时只在内存中按帖子累加增量（{@link LongAdder} 内部分段，热点帖子并发累加无竞争），
+ * 由定时任务将所有帖子的增量合并为 UPDATE ... CASE 语句批量写回，
+ * 避免热点帖子的 post 行在高并发点赞时成为行锁瓶颈。
+ * </p>
+ * <p>
+ * 读取帖子时需调用 {@link #overlay(PostVO)} 叠加尚未写回的增量。
+ * 应用正常关闭时会写回剩余增量；进程异常退出时最多丢失一个写回周期内的计数。
+ * </p>
+ * <p>
+ * 开启 ES 直读时，已写回的增量会按写回时间再保留 count-overlay-retention-seconds，
+ * 由 {@link #overlayIndexed(PostVO, Date)} 叠加到 ES 中尚未同步该次写回的文档上。
+ * </p>
+ */
+@Component
+@Slf4j
+public class PostCounterAggregator {
+
+    @Resource
+    private PostCounterConfig postCounterConfig;
+
+    @Resource
+    private PostMapper postMapper;
+
+    @Resource
+    private PostCacheManager postCacheManager;
+
+    @Resource
+    private PostOutboxManager postOutboxManager;
+
+    @Resource
+    private TransactionTemplate transactionTemplate;
+
+    @Resource
+    private PostSearchConfig postSearchConfig;
+
+    /**
+     * 帖子 ID -> 尚未写回的增量
+     */
+    private final Map<Long, Counter> counters = new ConcurrentHashMap<>();
+
+    /**
+     * 帖子 ID -> 正在写回的增量（已从 counters 扣除，写回成功前读取时仍需叠加）
+     */
+    private final Map<Long, PostCountDelta> flushing = new ConcurrentHashMap<>();
+
+    /**
+     * 帖子 ID -> 最近已写回的增量（仅开启 ES 直读时记录）
+     */
+    private final Map<Long, List<FlushedDelta>> recentFlushed = new ConcurrentHashMap<>();
+
+    /**
+     * 累加点赞数
+     *
+     * @param postId 帖子 ID
+     * @param delta  增量，点赞为 1，取消点赞为 -1
+     */
+    public void incrLikeCount(long postId, long delta) {
+        incr(postId, delta, 0);
+    }
+
+    /**
+     * 累加收藏数
+     *
+     * @param postId 帖子 ID
+     * @param delta  增量，收藏为 1，取消收藏为 -1
+     */
+    public void incrCollectCount(long postId, long delta) {
+        incr(postId, 0, delta);
+    }
+
+    /**
+     * 为帖子视图叠加尚未写回数据库的点赞数、收藏数增量
+     *
+     * @param postVO 帖子视图对象
+     */
+    public void overlay(PostVO postVO) {
+        if (postVO == null || postVO.getId() == null) {
+            return;
+        }
+        long likeDelta = 0;
+        long collectDelta = 0;
+        Counter counter = counters.get(postVO.getId());
+        if (counter != null) {
+            likeDelta += counter.likeDelta.sum();
+            collectDelta += counter.collectDelta.sum();
+        }
+        PostCountDelta flushingDelta = flushing.get(postVO.getId());
+        if (flushingDelta != null) {
+            likeDelta += flushingDelta.getLikeDelta();
+            collectDelta += flushingDelta.getCollectDelta();
+        }
+        if (likeDelta != 0 && postVO.getLikeCount() != null) {
+            postVO.setLikeCount((int) Math.max(postVO.getLikeCount() + likeDelta, 0));
+        }
+        if (collectDelta != 0 && postVO.getCollectCount() != null) {
+            postVO.setCollectCount((int) Math.max(postVO.getCollectCount() + collectDelta, 0));
+        }
+    }
+
+    /**
+     * 为由 ES 文档构建的帖子视图叠加计数增量：除尚未写回的增量外，还叠加文档版本之后写回、ES 尚未同步的增量
+     * 文档的 updateTime 精确到秒，与文档版本处于同一秒内的写回无法判断是否已包含，按已包含处理（短暂少计，不会多计）
+     *
+     * @param postVO            帖子视图对象（计数取自 ES）
+     * @param indexedUpdateTime ES 文档对应的数据库 updateTime
+     */
+    public void overlayIndexed(PostVO postVO, Date indexedUpdateTime) {
+        overlay(postVO);
+        if (postVO == null || postVO.getId() == null || indexedUpdateTime == null) {
+            return;
+        }
+        List<FlushedDelta> flushedList = recentFlushed.get(postVO.getId());
+        if (flushedList == null) {
+            return;
+        }
+        long likeDelta = 0;
+        long collectDelta = 0;
+        long notIndexedAfter = indexedUpdateTime.getTime() + 1000;
+        synchronized (flushedList) {
+            for (FlushedDelta flushed : flushedList) {
+                if (flushed.flushTime >= notIndexedAfter) {
+                    likeDelta += flushed.likeDelta;
+                    collectDelta += flushed.collectDelta;
+                }
+            }
+        }
+        if (likeDelta != 0 && postVO.getLikeCount() != null) {
+            postVO.setLikeCount((int) Math.max(postVO.getLikeCount() + likeDelta, 0));
+        }
+        if (collectDelta != 0 && postVO.getCollectCount() != null) {
+            postVO.setCollectCount((int) Math.max(postVO.getCollectCount() + collectDelta, 0));
+        }
+    }
+
+    /**
+     * 定时将累加的增量写回数据库
+     */
+    @Scheduled(fixedDelayString = "${post.counter.flush-interval-millis:1000}")
+    public void scheduledFlush() {
+        flush();
+    }
+
+    /**
+     * 应用关闭时写回剩余增量
+     */
+    @PreDestroy
+    public void destroy() {
+        if (postCounterConfig.isFlushOnShutdown()) {
+            flush();
+        }
+    }
+
+    /**
+     * 将所有帖子的增量写回数据库，写回失败的增量会放回，下一周期重试
+     */
+    public synchronized void flush() {
+        pruneRecentFlushed();
+        if (counters.isEmpty()) {
+            return;
+        }
+        // 1. 摘取增量：先登记到 flushing 再从 counters 扣除，期间读取最多短暂多计，不会少计
+        List<PostCountDelta> deltaList = new ArrayList<>();
+        for (Map.Entry<Long, Counter> entry : counters.entrySet()) {
+            long postId = entry.getKey();
+            Counter counter = entry.getValue();
+            long likeDelta = counter.likeDelta.sum();
+            long collectDelta = counter.collectDelta.sum();
+            if (likeDelta == 0 && collectDelta == 0) {
+                tryRetire(postId, counter);
+                continue;
+            }
+            PostCountDelta delta = new PostCountDelta(postId, likeDelta, collectDelta);
+            flushing.put(postId, delta);
+            counter.likeDelta.add(-likeDelta);
+            counter.collectDelta.add(-collectDelta);
+            deltaList.add(delta);
+        }
+        // 按主键顺序加锁，避免多节点同时写回时死锁
+        deltaList.sort(Comparator.comparing(PostCountDelta::getPostId));
+
+        // 2. 分批写回
+        int batchSize = Math.max(postCounterConfig.getFlushBatchSize(), 1);
+        for (int i = 0; i < deltaList.size(); i += batchSize) {
+            List<PostCountDelta> batch = deltaList.subList(i, Math.min(i + batchSize, deltaList.size()));
+            // 取事务开始前的时间，不晚于数据库中该次更新的 updateTime
+            long flushTime = System.currentTimeMillis();
+            boolean success = false;
+            try {
+                // 计数写回与发件箱记录在同一事务中，保证搜索索引最终得到最新计数
+                transactionTemplate.executeWithoutResult(status -> {
+                    postMapper.batchIncrCount(batch);
+                    postOutboxManager.record(batch.stream().map(PostCountDelta::getPostId).toList());
+                });
+                success = true;
+            } catch (Exception e) {
+                log.error("flush post count delta error, size: {}", batch.size(), e);
+            }
+            for (PostCountDelta delta : batch) {
+                if (!success) {
+                    incr(delta.getPostId(), delta.getLikeDelta(), delta.getCollectDelta());
+                } else {
+                    // 先登记到最近写回再移出 flushing，ES 直读期间不会少计
+                    recordFlushed(delta, flushTime);
+                }
+                flushing.remove(delta.getPostId());
+                if (success) {
+                    // 数据库计数已变化，使帖子缓存失效
+                    postCacheManager.evict(delta.getPostId());
+                }
+            }
+        }
+    }
+
+    private void incr(long postId, long likeDelta, long collectDelta) {
+        if (!postCounterConfig.isEnabled()) {
+            long flushTime = System.currentTimeMillis();
+            PostCountDelta delta = new PostCountDelta(postId, likeDelta, collectDelta);
+            transactionTemplate.executeWithoutResult(status -> {
+                postMapper.batchIncrCount(List.of(delta));
+                postOutboxManager.record(postId);
+            });
+            recordFlushed(delta, flushTime);
+            postCacheManager.evict(postId);
+            return;
+        }
+        while (true) {
+            Counter counter = counters.computeIfAbsent(postId, key -> new Counter());
+            counter.likeDelta.add(likeDelta);
+            counter.collectDelta.add(collectDelta);
+            if (!counter.retired) {
+                return;
+            }
+            // 计数器已被回收，撤销后在新计数器上重试
+            counter.likeDelta.add(-likeDelta);
+            counter.collectDelta.add(-collectDelta);
+        }
+    }
+
+    /**
+     * 开启 ES 直读时记录已写回的增量
+     */
+    private void recordFlushed(PostCountDelta delta, long flushTime) {
+        if (!postSearchConfig.isEsOnlyRead()) {
+            return;
+        }
+        FlushedDelta flushed = new FlushedDelta(flushTime, delta.getLikeDelta(), delta.getCollectDelta());
+        recentFlushed.compute(delta.getPostId(), (postId, flushedList) -> {
+            List<FlushedDelta> list = flushedList == null ? new ArrayList<>() : flushedList;
+            synchronized (list) {
+                list.add(flushed);
+            }
+            return list;
+        });
+    }
+
+    /**
+     * 清除超过保留时间的已写回增量
+     */
+    private void pruneRecentFlushed() {
+        if (recentFlushed.isEmpty()) {
+            return;
+        }
+        long expireBefore = System.currentTimeMillis() - postSearchConfig.getCountOverlayRetentionSeconds() * 1000;
+        for (Long postId : recentFlushed.keySet()) {
+            recentFlushed.computeIfPresent(postId, (key, flushedList) -> {
+                synchronized (flushedList) {
+                    flushedList.removeIf(flushed -> flushed.flushTime < expireBefore);
+                    return flushedList.isEmpty() ? null : flushedList;
+                }
+            });
+        }
+    }
+
+    /**
+     * 回收增量为 0 的计数器，避免长期占用内存
+     * 先标记回收再检查增量：并发累加的线程要么被这里看到（放弃回收），要么看到回收标记（自行重试）
+     */
+    private void tryRetire(long postId, Counter counter) {
+        counter.retired = true;
+        if (counter.likeDelta.sum() == 0 && counter.collectDelta.sum() == 0) {
+            counters.remove(postId, counter);
+        } else {
+            counter.retired = false;
+        }
+    }
+
+    /**
+     * 已写回的增量
+     */
+    private record FlushedDelta(long flushTime, long likeDelta, long collectDelta) {
+    }
+
+    /**
+     * 单个帖子的增量计数器
+     */
+    private static class Counter {
+
+        private final LongAdder likeDelta = new LongAdder();
+
+        private final LongAdder collectDelta = new LongAdder();
+
+        private volatile boolean retired;
+    }
+}
@@ -0,0 +1,61 @@
+package com.zephyr.springboottemplate.manager;
+
+import cn.hutool.cache.CacheUtil;
+import cn.hutool.cache.impl.LRUCache;
+import com.zephyr.springboottemplate.config.PostSearchConfig;
+import com.zephyr.springboottemplate.model.vo.FacetVO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 搜索聚合结果短时缓存管理器
+ *
+ * <p>
+ * 聚合统计需要遍历全部命中文档，代价远高于取一页结果；相同查询条件的聚合结果在短 TTL 内直接复用，
+ * 命中缓存时搜索请求不再携带聚合。缓存键由调用方按查询条件（不含分页参数）归一化生成。
+ * </p>
+ */
+@Component
+public class PostFacetCacheManager {
+
+    @Resource
+    private PostSearchConfig postSearchConfig;
+
+    private LRUCache<String, Map<String, List<FacetVO>>> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = CacheUtil.newLRUCache(postSearchConfig.getFacetCacheMaxSize(),
+                TimeUnit.SECONDS.toMillis(postSearchConfig.getFacetCacheTtlSeconds()));
+    }
+
+    /**
+     * 获取聚合结果缓存
+     *
+     * @param key 缓存键
+     * @return 聚合结果，未命中时返回 null
+     */
+    public Map<String, List<FacetVO>> get(String key) {
+        if (!postSearchConfig.isFacetCacheEnabled()) {
+            return null;
+        }
+        return cache.get(key);
+    }
+
+    /**
+     * 写入聚合结果缓存
+     *
+     * @param key    缓存键
+     * @param facets 聚合结果
+     */
+    public void put(String key, Map<String, List<FacetVO>> facets) {
+        if (postSearchConfig.isFacetCacheEnabled()) {
+            cache.put(key, facets);
+        }
+    }
+}
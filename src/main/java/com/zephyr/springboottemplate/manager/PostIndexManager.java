@@ -0,0 +1,186 @@
+package com.zephyr.springboottemplate.manager;
+
+import cn.hutool.core.date.DateUtil;
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import com.zephyr.springboottemplate.common.ErrorCode;
+import com.zephyr.springboottemplate.config.PostEsSyncConfig;
+import com.zephyr.springboottemplate.exception.BusinessException;
+import com.zephyr.springboottemplate.model.dto.post.PostEsDTO;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.elasticsearch.BulkFailureException;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.IndexOperations;
+import org.springframework.data.elasticsearch.core.document.Document;
+import org.springframework.data.elasticsearch.core.index.Settings;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 帖子索引管理器
+ *
+ * <p>
+ * 帖子的读写统一通过别名 {@link #ALIAS} 访问，实际数据存放在带版本号的索引（post_v{时间}）中。
+ * 重建索引时先创建新版本索引并关闭刷新、副本以加快导入，导入完成后恢复设置，
+ * 再原子地将别名切换到新索引；旧索引保留，可通过 {@link #swapAlias(String)} 切回实现快速回滚。
+ * </p>
+ * <p>
+ * 帖子文档统一通过 {@link #save(List, IndexCoordinates)} 按外部版本号写入。
+ * </p>
+ */
+@Component
+@Slf4j
+public class PostIndexManager {
+
+    /**
+     * 帖子索引别名，与 PostEsDTO 的 @Document(indexName) 一致
+     */
+    public static final String ALIAS = "post";
+
+    /**
+     * 版本索引名前缀
+     */
+    private static final String INDEX_PREFIX = ALIAS + "_v";
+
+    @Resource
+    private ElasticsearchOperations elasticsearchOperations;
+
+    @Resource
+    private ElasticsearchClient elasticsearchClient;
+
+    @Resource
+    private PostEsSyncConfig postEsSyncConfig;
+
+    /**
+     * 创建用于批量导入的新版本索引（关闭刷新、副本数为 0）
+     *
+     * @return 新索引名称
+     */
+    public String createBulkLoadIndex() {
+        String indexName = INDEX_PREFIX + DateUtil.format(new Date(), "yyyyMMddHHmmss");
+        Map<String, Object> bulkLoadSettings = new HashMap<>();
+        bulkLoadSettings.put("index.refresh_interval", "-1");
+        bulkLoadSettings.put("index.number_of_replicas", 0);
+        createIndex(indexName, bulkLoadSettings);
+        return indexName;
+    }
+
+    /**
+     * 别名不存在时创建版本索引并指向别名，避免首次写入时由 ES 按动态映射自动建索引
+     *
+     * @return 是否新建了索引
+     */
+    public boolean ensureIndex() {
+        try {
+            if (elasticsearchClient.indices().exists(e -> e.index(ALIAS)).value()) {
+                return false;
+            }
+        } catch (IOException e) {
+            throw new BusinessException(ErrorCode.SYSTEM_ERROR, "查询索引失败");
+        }
+        String indexName = INDEX_PREFIX + DateUtil.format(new Date(), "yyyyMMddHHmmss");
+        createIndex(indexName, Collections.emptyMap());
+        swapAlias(indexName);
+        return true;
+    }
+
+    /**
+     * 按 PostEsDTO 的显式映射与索引设置创建索引
+     *
+     * @param indexName        索引名称
+     * @param overrideSettings 覆盖的索引设置
+     */
+    private void createIndex(String indexName, Map<String, Object> overrideSettings) {
+        IndexOperations indexOps = elasticsearchOperations.indexOps(IndexCoordinates.of(indexName));
+        Settings settings = indexOps.createSettings(PostEsDTO.class);
+        settings.putAll(overrideSettings);
+        Document mapping = indexOps.createMapping(PostEsDTO.class);
+        indexOps.create(settings, mapping);
+        log.info("create post index {}", indexName);
+    }
+
+    /**
+     * 按外部版本号批量写入帖子文档
+     * 版本冲突（409）表示索引中已有同一帖子更新的状态，视为写入成功；其他失败抛出异常
+     *
+     * @param postEsDTOList 帖子文档
+     * @param index         目标索引
+     */
+    public void save(List<PostEsDTO> postEsDTOList, IndexCoordinates index) {
+        if (postEsDTOList.isEmpty()) {
+            return;
+        }
+        try {
+            elasticsearchOperations.save(postEsDTOList, index);
+        } catch (BulkFailureException e) {
+            Map<String, BulkFailureException.FailureDetails> failedMap = e.getFailedDocuments().entrySet().stream()
+                    .filter(entry -> !Integer.valueOf(409).equals(entry.getValue().status()))
+                    .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+            if (!failedMap.isEmpty()) {
+                throw new BulkFailureException(e.getMessage(), failedMap);
+            }
+            log.debug("skip stale post documents, size {}", e.getFailedDocuments().size());
+        }
+    }
+
+    /**
+     * 批量导入完成后恢复索引的刷新与副本设置，并刷新使数据可见
+     *
+     * @param indexName 索引名称
+     */
+    public void finishBulkLoad(String indexName) {
+        try {
+            elasticsearchClient.indices().putSettings(r -> r
+                    .index(indexName)
+                    .settings(s -> s
+                            .refreshInterval(t -> t.time("1s"))
+                            .numberOfReplicas(String.valueOf(postEsSyncConfig.getBlueGreenReplicas()))));
+            elasticsearchClient.indices().refresh(r -> r.index(indexName));
+        } catch (IOException e) {
+            throw new BusinessException(ErrorCode.SYSTEM_ERROR, "恢复索引设置失败");
+        }
+    }
+
+    /**
+     * 原子地将别名切换到指定索引
+     * 别名原先指向的索引会被保留；若别名名称当前是一个实体索引（首次迁移），则在同一操作中删除该索引。
+     *
+     * @param indexName 目标索引名称
+     * @return 别名原先指向的索引
+     */
+    public List<String> swapAlias(String indexName) {
+        try {
+            List<String> oldIndexList = new ArrayList<>();
+            boolean aliasExists = elasticsearchClient.indices().existsAlias(e -> e.name(ALIAS)).value();
+            if (aliasExists) {
+                oldIndexList.addAll(elasticsearchClient.indices().getAlias(g -> g.name(ALIAS)).result().keySet());
+            }
+            boolean concreteIndexExists = !aliasExists && elasticsearchClient.indices().exists(e -> e.index(ALIAS)).value();
+            if (concreteIndexExists) {
+                log.warn("post index {} is a concrete index, it will be removed when the alias is created", ALIAS);
+            }
+            elasticsearchClient.indices().updateAliases(u -> {
+                for (String oldIndex : oldIndexList) {
+                    u.actions(a -> a.remove(r -> r.index(oldIndex).alias(ALIAS)));
+                }
+                if (concreteIndexExists) {
+                    u.actions(a -> a.removeIndex(r -> r.index(ALIAS)));
+                }
+                return u.actions(a -> a.add(r -> r.index(indexName).alias(ALIAS)));
+            });
+            log.info("swap post alias from {} to {}", oldIndexList, indexName);
+            return oldIndexList;
+        } catch (IOException e) {
+            throw new BusinessException(ErrorCode.SYSTEM_ERROR, "切换索引别名失败");
+        }
+    }
+}
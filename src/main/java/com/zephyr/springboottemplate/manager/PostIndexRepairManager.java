@@ -0,0 +1,91 @@
+package com.zephyr.springboottemplate.manager;
+
+import cn.hutool.core.collection.CollUtil;
+import com.zephyr.springboottemplate.config.PostEsSyncConfig;
+import com.zephyr.springboottemplate.esdao.PostEsDao;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 帖子索引修复管理器
+ *
+ * <p>
+ * 搜索时发现 ES 中存在、数据库中已不存在的帖子（孤儿文档），通过 {@link #submitOrphans} 放入去重队列后立即返回，
+ * 由定时任务批量删除，搜索请求的耗时不包含任何索引写操作。
+ * 每次最多删除 repair-batch-size 个，限制清理对 ES 的写入压力；删除失败的帖子放回队列重试。
+ * </p>
+ */
+@Component
+@Slf4j
+public class PostIndexRepairManager {
+
+    @Resource
+    private PostEsSyncConfig postEsSyncConfig;
+
+    @Resource
+    private PostEsDao postEsDao;
+
+    @Resource
+    private PostSearchCacheManager postSearchCacheManager;
+
+    /**
+     * 待删除的帖子 ID（去重）
+     */
+    private final Set<Long> pendingPostIds = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 提交需要从索引中删除的帖子 ID，不阻塞调用方
+     *
+     * @param postIds 数据库中已不存在的帖子 ID
+     */
+    public void submitOrphans(Collection<Long> postIds) {
+        if (CollUtil.isEmpty(postIds)) {
+            return;
+        }
+        for (Long postId : postIds) {
+            if (pendingPostIds.size() >= postEsSyncConfig.getRepairMaxPending()) {
+                // 队列已满时丢弃，孤儿文档再次被搜索命中时会重新入队
+                log.warn("post index repair queue is full, drop orphan post {}", postId);
+                return;
+            }
+            pendingPostIds.add(postId);
+        }
+    }
+
+    /**
+     * 定时批量删除孤儿文档
+     */
+    @Scheduled(fixedDelayString = "${post.es-sync.repair-interval-millis:1000}")
+    public void repair() {
+        if (pendingPostIds.isEmpty()) {
+            return;
+        }
+        // 1. 取出一批待删除的帖子 ID
+        int batchSize = Math.max(postEsSyncConfig.getRepairBatchSize(), 1);
+        List<Long> postIdList = new ArrayList<>(batchSize);
+        Iterator<Long> iterator = pendingPostIds.iterator();
+        while (iterator.hasNext() && postIdList.size() < batchSize) {
+            postIdList.add(iterator.next());
+            iterator.remove();
+        }
+
+        // 2. 批量删除，失败时放回队列
+        try {
+            postEsDao.deleteAllById(postIdList);
+            postSearchCacheManager.bumpGeneration();
+            log.info("delete orphan posts from index, size {}", postIdList.size());
+        } catch (Exception e) {
+            log.error("delete orphan posts from index error, size {}", postIdList.size(), e);
+            pendingPostIds.addAll(postIdList);
+        }
+    }
+}
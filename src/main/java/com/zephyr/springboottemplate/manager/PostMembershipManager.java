@@ -0,0 +1,231 @@
+package com.zephyr.springboottemplate.manager;
+
+import cn.hutool.cache.CacheUtil;
+import cn.hutool.cache.impl.LRUCache;
+import cn.hutool.core.collection.CollUtil;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.zephyr.springboottemplate.config.PostCacheConfig;
+import com.zephyr.springboottemplate.mapper.PostCollectionMapper;
+import com.zephyr.springboottemplate.mapper.PostLikeMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 用户点赞 / 收藏帖子集合管理器
+ *
+ * <p>
+ * 按用户懒加载其点赞、收藏过的帖子 ID，以有序 long 数组的形式缓存在进程内，
+ * 用于替代分页渲染时的 postId IN (...) AND userId = ? 查询。
+ * 点赞、收藏状态变化时需调用 {@link #onLikeChanged} / {@link #onCollectChanged} 同步缓存。
+ * </p>
+ * <p>
+ * 点赞、收藏数量超过上限的用户不缓存，直接查库。
+ * </p>
+ */
+@Component
+public class PostMembershipManager {
+
+    /**
+     * 分段数：修改戳用于识别加载期间发生的并发修改，分段锁用于串行化同一用户的缓存修改
+     */
+    private static final int STAMP_STRIPES = 64;
+
+    @Resource
+    private PostCacheConfig postCacheConfig;
+
+    @Resource
+    private PostLikeMapper postLikeMapper;
+
+    @Resource
+    private PostCollectionMapper postCollectionMapper;
+
+    private Membership likeMembership;
+
+    private Membership collectMembership;
+
+    @PostConstruct
+    public void init() {
+        likeMembership = new Membership(postLikeMapper);
+        collectMembership = new Membership(postCollectionMapper);
+    }
+
+    /**
+     * 获取用户在指定帖子中点赞过的帖子 ID
+     *
+     * @param userId  用户 ID
+     * @param postIds 帖子 ID 集合
+     * @return 已点赞的帖子 ID 集合
+     */
+    public Set<Long> listLikedPostIds(long userId, Collection<Long> postIds) {
+        return likeMembership.filter(userId, postIds);
+    }
+
+    /**
+     * 获取用户在指定帖子中收藏过的帖子 ID
+     *
+     * @param userId  用户 ID
+     * @param postIds 帖子 ID 集合
+     * @return 已收藏的帖子 ID 集合
+     */
+    public Set<Long> listCollectedPostIds(long userId, Collection<Long> postIds) {
+        return collectMembership.filter(userId, postIds);
+    }
+
+    /**
+     * 点赞状态变化后同步缓存
+     *
+     * @param userId 用户 ID
+     * @param postId 帖子 ID
+     * @param liked  true 表示点赞，false 表示取消点赞
+     */
+    public void onLikeChanged(long userId, long postId, boolean liked) {
+        likeMembership.change(userId, postId, liked);
+    }
+
+    /**
+     * 收藏状态变化后同步缓存
+     *
+     * @param userId    用户 ID
+     * @param postId    帖子 ID
+     * @param collected true 表示收藏，false 表示取消收藏
+     */
+    public void onCollectChanged(long userId, long postId, boolean collected) {
+        collectMembership.change(userId, postId, collected);
+    }
+
+    /**
+     * 单张关系表（post_like / post_collection）对应的用户帖子集合缓存
+     */
+    private class Membership {
+
+        private final BaseMapper<?> mapper;
+
+        private final LRUCache<Long, long[]> cache;
+
+        /**
+         * 分段修改戳，加载期间若对应分段被修改，则放弃回填，避免缓存旧数据
+         */
+        private final AtomicLongArray stamps = new AtomicLongArray(STAMP_STRIPES);
+
+        /**
+         * 分段锁，同一用户的缓存修改（读取数组 -> 复制 -> 回写）及加载回填串行执行，避免并发修改互相覆盖
+         */
+        private final Object[] locks = new Object[STAMP_STRIPES];
+
+        Membership(BaseMapper<?> mapper) {
+            this.mapper = mapper;
+            this.cache = CacheUtil.newLRUCache(postCacheConfig.getMembershipMaxUsers(),
+                    TimeUnit.SECONDS.toMillis(postCacheConfig.getMembershipTtlSeconds()));
+            for (int i = 0; i < STAMP_STRIPES; i++) {
+                locks[i] = new Object();
+            }
+        }
+
+        Set<Long> filter(long userId, Collection<Long> postIds) {
+            Set<Long> result = new HashSet<>();
+            if (CollUtil.isEmpty(postIds)) {
+                return result;
+            }
+            long[] sortedPostIds = cache.get(userId);
+            if (sortedPostIds == null) {
+                sortedPostIds = load(userId);
+            }
+            if (sortedPostIds == null) {
+                // 数量超过上限，直接查库
+                return selectPostIds(new QueryWrapper<>().select("postId")
+                        .eq("userId", userId)
+                        .in("postId", postIds));
+            }
+            for (Long postId : postIds) {
+                if (postId != null && Arrays.binarySearch(sortedPostIds, postId) >= 0) {
+                    result.add(postId);
+                }
+            }
+            return result;
+        }
+
+        void change(long userId, long postId, boolean added) {
+            synchronized (locks[stripe(userId)]) {
+                stamps.incrementAndGet(stripe(userId));
+                replace(userId, postId, added);
+            }
+        }
+
+        /**
+         * 在缓存的有序数组中加入或移除帖子 ID，需持有用户所在分段的锁
+         */
+        private void replace(long userId, long postId, boolean added) {
+            long[] sortedPostIds = cache.get(userId, false);
+            if (sortedPostIds == null) {
+                return;
+            }
+            int index = Arrays.binarySearch(sortedPostIds, postId);
+            long[] updated;
+            if (added && index < 0) {
+                int insertAt = -index - 1;
+                updated = new long[sortedPostIds.length + 1];
+                System.arraycopy(sortedPostIds, 0, updated, 0, insertAt);
+                updated[insertAt] = postId;
+                System.arraycopy(sortedPostIds, insertAt, updated, insertAt + 1, sortedPostIds.length - insertAt);
+            } else if (!added && index >= 0) {
+                updated = new long[sortedPostIds.length - 1];
+                System.arraycopy(sortedPostIds, 0, updated, 0, index);
+                System.arraycopy(sortedPostIds, index + 1, updated, index, sortedPostIds.length - index - 1);
+            } else {
+                return;
+            }
+            if (updated.length > postCacheConfig.getMembershipMaxPostsPerUser()) {
+                cache.remove(userId);
+            } else {
+                cache.put(userId, updated);
+            }
+        }
+
+        /**
+         * 从数据库加载用户的全部帖子 ID
+         *
+         * @return 有序帖子 ID 数组，数量超过上限时返回 null
+         */
+        private long[] load(long userId) {
+            int maxSize = postCacheConfig.getMembershipMaxPostsPerUser();
+            long stamp = stamps.get(stripe(userId));
+            Set<Long> postIdSet = selectPostIds(new QueryWrapper<>().select("postId")
+                    .eq("userId", userId)
+                    .last("limit " + (maxSize + 1)));
+            if (postIdSet.size() > maxSize) {
+                return null;
+            }
+            long[] sortedPostIds = postIdSet.stream().mapToLong(Long::longValue).sorted().toArray();
+            synchronized (locks[stripe(userId)]) {
+                if (stamps.get(stripe(userId)) == stamp) {
+                    cache.put(userId, sortedPostIds);
+                }
+            }
+            return sortedPostIds;
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private Set<Long> selectPostIds(QueryWrapper queryWrapper) {
+            List<Object> postIdList = ((BaseMapper) mapper).selectObjs(queryWrapper);
+            Set<Long> postIdSet = new HashSet<>();
+            for (Object postId : postIdList) {
+                postIdSet.add(((Number) postId).longValue());
+            }
+            return postIdSet;
+        }
+
+        private int stripe(long userId) {
+            return (int) (userId & (STAMP_STRIPES - 1));
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.zephyr.springboottemplate.manager;
+
+import cn.hutool.core.collection.CollUtil;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.zephyr.springboottemplate.config.PostOutboxConfig;
+import com.zephyr.springboottemplate.esdao.PostEsDao;
+import com.zephyr.springboottemplate.mapper.PostMapper;
+import com.zephyr.springboottemplate.mapper.PostOutboxMapper;
+import com.zephyr.springboottemplate.model.dto.post.PostEsDTO;
+import com.zephyr.springboottemplate.model.entity.Post;
+import com.zephyr.springboottemplate.model.entity.PostOutbox;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * 帖子变更发件箱管理器
+ *
+ * <p>
+ * 写入：帖子增删改、点赞数 / 收藏数写回时调用 {@link #record}，与业务数据在同一事务中写入 post_outbox 表，
+ * 业务提交则变更一定被记录，业务回滚则变更一并回滚。
+ * </p>
+ * <p>
+ * 中继：定时按 id 顺序批量读取发件箱，查询帖子的最新状态批量写入 Elasticsearch，成功后删除已处理的记录。
+ * 写入失败时记录保留、下次重试（至少一次投递）；每次写入的都是帖子的最新状态，重复投递是幂等的，
+ * 且批次按顺序串行处理，同一帖子不会被旧状态覆盖。
+ * 记录由 enabled 控制，中继由 relay-enabled 单独控制：多节点部署时所有节点都应记录，但只应有一个节点开启中继；
+ * 文档按 updateTime 外部版本号写入，即使短暂出现多个中继，较旧的状态也不会覆盖较新的状态。
+ * </p>
+ */
+@Component
+@Slf4j
+public class PostOutboxManager {
+
+    @Resource
+    private PostOutboxConfig postOutboxConfig;
+
+    @Resource
+    private PostOutboxMapper postOutboxMapper;
+
+    @Resource
+    private PostMapper postMapper;
+
+    @Resource
+    private PostEsDao postEsDao;
+
+    @Resource
+    private PostSearchCacheManager postSearchCacheManager;
+
+    @Resource
+    private PostIndexManager postIndexManager;
+
+    /**
+     * 记录帖子变更，需在业务事务内调用
+     *
+     * @param postId 帖子 ID
+     */
+    public void record(long postId) {
+        record(Collections.singletonList(postId));
+    }
+
+    /**
+     * 批量记录帖子变更，需在业务事务内调用
+     *
+     * @param postIds 帖子 ID 集合
+     */
+    public void record(Collection<Long> postIds) {
+        if (!postOutboxConfig.isEnabled() || CollUtil.isEmpty(postIds)) {
+            return;
+        }
+        postOutboxMapper.insertBatch(postIds);
+    }
+
+    /**
+     * 定时将发件箱中的变更同步到 Elasticsearch，直到发件箱为空或同步失败
+     */
+    @Scheduled(fixedDelayString = "${post.outbox.relay-interval-millis:200}")
+    public void relay() {
+        if (!postOutboxConfig.isEnabled() || !postOutboxConfig.isRelayEnabled()) {
+            return;
+        }
+        int batchSize = Math.max(postOutboxConfig.getRelayBatchSize(), 1);
+        while (true) {
+            // 1. 按 id 顺序读取一批变更
+            List<PostOutbox> postOutboxList = postOutboxMapper.selectList(new QueryWrapper<PostOutbox>()
+                    .orderByAsc("id")
+                    .last("limit " + batchSize));
+            if (CollUtil.isEmpty(postOutboxList)) {
+                return;
+            }
+
+            // 2. 同一帖子的多次变更合并，只同步最新状态
+            Set<Long> postIdSet = postOutboxList.stream().map(PostOutbox::getPostId).collect(Collectors.toSet());
+            List<Post> postList = postMapper.listPostWithDeleteByIds(postIdSet);
+            Set<Long> missingPostIdSet = new HashSet<>(postIdSet);
+            postList.forEach(post -> missingPostIdSet.remove(post.getId()));
+            try {
+                if (!postList.isEmpty()) {
+                    postIndexManager.save(postList.stream().map(PostEsDTO::objToDto).collect(Collectors.toList()),
+                            IndexCoordinates.of(PostIndexManager.ALIAS));
+                }
+                // 数据库中已不存在的帖子从索引中删除
+                if (!missingPostIdSet.isEmpty()) {
+                    postEsDao.deleteAllById(missingPostIdSet);
+                }
+                // 索引已变化，使搜索结果缓存失效
+                postSearchCacheManager.bumpGeneration();
+            } catch (Exception e) {
+                // 保留发件箱记录，下次重试
+                log.error("relay post outbox error, id from {} to {}", postOutboxList.get(0).getId(),
+                        postOutboxList.get(postOutboxList.size() - 1).getId(), e);
+                return;
+            }
+
+            // 3. 同步成功后删除已处理的记录
+            postOutboxMapper.deleteBatchIds(postOutboxList.stream().map(PostOutbox::getId).toList());
+            if (postOutboxList.size() < batchSize) {
+                return;
+            }
+        }
+    }
+}
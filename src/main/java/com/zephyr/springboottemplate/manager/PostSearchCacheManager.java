@@ -0,0 +1,138 @@
+package com.zephyr.springboottemplate.manager;
+
+import cn.hutool.cache.CacheUtil;
+import cn.hutool.cache.impl.LRUCache;
+import com.zephyr.springboottemplate.config.PostSearchConfig;
+import com.zephyr.springboottemplate.model.vo.FacetVO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 搜索结果短时缓存管理器
+ *
+ * <p>
+ * 按归一化后的查询条件（含排序和分页）缓存一页搜索结果的帖子 ID 列表，命中时跳过 ES 查询，
+ * 帖子数据、作者和点赞 / 收藏状态仍按请求实时查询。
+ * </p>
+ * <p>
+ * 失效：ES 索引发生写入时由同步任务调用 {@link #bumpGeneration()}，缓存键带有代数，旧代数的条目不再被读取，
+ * 随 LRU 淘汰或过期清除。查询前通过 {@link #currentGeneration()} 取得代数、查询后按该代数写入，
+ * 查询期间发生的写入不会被缓存成新代数的结果。
+ * 代数只在进程内递增，多节点部署时未运行同步任务的节点依赖过期时间失效。
+ * </p>
+ * <p>
+ * 指标：post.search.cache.requests（标签 result=hit / miss）与 post.search.cache.hit.ratio。
+ * </p>
+ */
+@Component
+public class PostSearchCacheManager {
+
+    /**
+     * 指标名称前缀
+     */
+    private static final String METRIC_NAME = "post.search.cache";
+
+    @Resource
+    private PostSearchConfig postSearchConfig;
+
+    @Resource
+    private MeterRegistry meterRegistry;
+
+    /**
+     * 缓存代数，索引每次写入后递增
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    private LRUCache<String, CachedSearch> cache;
+
+    private Counter hitCounter;
+
+    private Counter missCounter;
+
+    @PostConstruct
+    public void init() {
+        cache = CacheUtil.newLRUCache(postSearchConfig.getSearchCacheMaxSize(),
+                TimeUnit.SECONDS.toMillis(postSearchConfig.getSearchCacheTtlSeconds()));
+        hitCounter = Counter.builder(METRIC_NAME + ".requests")
+                .description("搜索结果缓存查询次数")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        missCounter = Counter.builder(METRIC_NAME + ".requests")
+                .description("搜索结果缓存查询次数")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_NAME + ".hit.ratio", this, PostSearchCacheManager::hitRatio)
+                .description("搜索结果缓存命中率（自启动以来）")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 获取当前缓存代数，需在查询 ES 之前调用
+     *
+     * @return 缓存代数
+     */
+    public long currentGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * 递增缓存代数，使已缓存的搜索结果全部失效
+     */
+    public void bumpGeneration() {
+        generation.incrementAndGet();
+    }
+
+    /**
+     * 获取当前代数下的搜索结果缓存
+     *
+     * @param queryKey 归一化后的查询条件
+     * @return 缓存的搜索结果，未命中时返回 null
+     */
+    public CachedSearch get(String queryKey) {
+        if (!postSearchConfig.isSearchCacheEnabled()) {
+            return null;
+        }
+        CachedSearch cachedSearch = cache.get(generation.get() + ":" + queryKey);
+        (cachedSearch == null ? missCounter : hitCounter).increment();
+        return cachedSearch;
+    }
+
+    /**
+     * 写入搜索结果缓存
+     *
+     * @param generation   查询前取得的缓存代数
+     * @param queryKey     归一化后的查询条件
+     * @param cachedSearch 搜索结果
+     */
+    public void put(long generation, String queryKey, CachedSearch cachedSearch) {
+        if (!postSearchConfig.isSearchCacheEnabled() || generation != this.generation.get()) {
+            return;
+        }
+        cache.put(generation + ":" + queryKey, cachedSearch);
+    }
+
+    private double hitRatio() {
+        double hit = hitCounter.count();
+        double total = hit + missCounter.count();
+        return total == 0 ? 0 : hit / total;
+    }
+
+    /**
+     * 缓存的一页搜索结果
+     *
+     * @param postIds 帖子 ID 列表（按搜索结果顺序）
+     * @param total   总命中数
+     * @param facets  聚合结果，未请求聚合时为 null
+     */
+    public record CachedSearch(List<Long> postIds, long total, Map<String, List<FacetVO>> facets) {
+    }
+}
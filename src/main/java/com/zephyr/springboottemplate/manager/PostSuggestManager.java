@@ -0,0 +1,332 @@
+package com.zephyr.springboottemplate.manager;
+
+import cn.hutool.core.collection.CollUtil;
+import cn.hutool.json.JSONUtil;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.zephyr.springboottemplate.config.PostSearchConfig;
+import com.zephyr.springboottemplate.mapper.PostMapper;
+import com.zephyr.springboottemplate.model.entity.Post;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 搜索建议管理器
+ *
+ * <p>
+ * 在内存中维护帖子标题和标签的前缀索引，按输入前缀返回权重最高的建议词（权重为使用该词的帖子数），
+ * 查询不访问 ES 和数据库。
+ * </p>
+ * <p>
+ * 结构：所有建议词归一化（去除首尾空白、转小写）后排序存放在数组中，同一前缀的词在数组中连续；
+ * 长度不超过 suggest-cached-prefix-length 的前缀预先计算好 Top-N，直接返回；
+ * 更长的前缀二分定位区间后扫描（最多 suggest-max-scan 个词），区间通常很小。
+ * </p>
+ * <p>
+ * 更新：全量同步 / 增量同步调用 {@link #update(Collection)} 登记帖子变化，再调用 {@link #publish()}，
+ * 有变化时由专用的后台线程重建索引快照并原子替换（不占用同步任务线程，多次发布合并为一次重建），
+ * 查询始终读取完整的快照。
+ * 增量同步在进程内首次运行时通过 {@link #loadAll()} 从数据库加载全部帖子。
+ * </p>
+ */
+@Component
+@Slf4j
+public class PostSuggestManager {
+
+    @Resource
+    private PostSearchConfig postSearchConfig;
+
+    @Resource
+    private PostMapper postMapper;
+
+    /**
+     * 帖子 ID -> 帖子的建议词（标题 + 标签）
+     */
+    private final Map<Long, List<String>> postTerms = new ConcurrentHashMap<>();
+
+    /**
+     * 当前索引快照
+     */
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    /**
+     * 是否有尚未发布的变化
+     */
+    private volatile boolean dirty;
+
+    /**
+     * 是否已加载过全部帖子
+     */
+    private volatile boolean loaded;
+
+    /**
+     * 是否已有等待执行的重建任务
+     */
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+
+    /**
+     * 重建索引快照的后台线程
+     */
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "post-suggest-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PreDestroy
+    public void destroy() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    /**
+     * 按前缀获取搜索建议
+     *
+     * @param prefix 输入前缀
+     * @param limit  返回数量
+     * @return 建议词，按权重倒序
+     */
+    public List<String> suggest(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        Snapshot current = snapshot;
+        int[] termIndexes = normalized.length() <= current.cachedPrefixLength
+                ? current.topByPrefix.getOrDefault(normalized, new int[0])
+                : current.scanTop(normalized, limit, postSearchConfig.getSuggestMaxScan());
+        List<String> suggestionList = new ArrayList<>(Math.min(limit, termIndexes.length));
+        for (int i = 0; i < termIndexes.length && i < limit; i++) {
+            suggestionList.add(current.displays[termIndexes[i]]);
+        }
+        return suggestionList;
+    }
+
+    /**
+     * 登记帖子变化，已删除的帖子从索引中移除；调用 {@link #publish()} 后生效
+     *
+     * @param postList 帖子列表
+     */
+    public void update(Collection<Post> postList) {
+        if (!postSearchConfig.isSuggestEnabled() || CollUtil.isEmpty(postList)) {
+            return;
+        }
+        for (Post post : postList) {
+            if (post.getIsDelete() != null && post.getIsDelete() == 1) {
+                postTerms.remove(post.getId());
+            } else {
+                postTerms.put(post.getId(), extractTerms(post));
+            }
+        }
+        dirty = true;
+    }
+
+    /**
+     * 有登记的变化时，提交后台任务重建索引快照，立即返回
+     */
+    public void publish() {
+        if (dirty && rebuildPending.compareAndSet(false, true)) {
+            rebuildExecutor.execute(this::rebuild);
+        }
+    }
+
+    /**
+     * 将登记的变化重建为新的索引快照
+     * 先清除等待标记再清除变化标记：重建期间登记的变化会触发下一次重建
+     */
+    private void rebuild() {
+        rebuildPending.set(false);
+        if (!dirty) {
+            return;
+        }
+        dirty = false;
+        long start = System.currentTimeMillis();
+        snapshot = Snapshot.build(postTerms.values(), postSearchConfig.getSuggestLimit(),
+                postSearchConfig.getSuggestCachedPrefixLength());
+        log.info("publish post suggest index, posts {}, terms {}, cost {} ms",
+                postTerms.size(), snapshot.terms.length, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 从数据库按 id 分批加载全部未删除的帖子并发布
+     */
+    public synchronized void loadAll() {
+        if (!postSearchConfig.isSuggestEnabled()) {
+            return;
+        }
+        int batchSize = Math.max(postSearchConfig.getSuggestLoadBatchSize(), 1);
+        long lastId = 0;
+        while (true) {
+            List<Post> postList = postMapper.selectList(new QueryWrapper<Post>()
+                    .select("id", "title", "tags")
+                    .gt("id", lastId)
+                    .orderByAsc("id")
+                    .last("limit " + batchSize));
+            if (CollUtil.isEmpty(postList)) {
+                break;
+            }
+            update(postList);
+            lastId = postList.get(postList.size() - 1).getId();
+        }
+        loaded = true;
+        dirty = true;
+        publish();
+    }
+
+    /**
+     * 是否已加载过全部帖子
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * 标记已加载全部帖子（由全量同步在登记完所有帖子后调用）
+     */
+    public void markLoaded() {
+        loaded = true;
+    }
+
+    /**
+     * 提取帖子的建议词，按归一化结果去重（标题与标签相同时只计一次权重）
+     */
+    private List<String> extractTerms(Post post) {
+        Map<String, String> termMap = new LinkedHashMap<>();
+        if (StringUtils.isNotBlank(post.getTitle())) {
+            String title = StringUtils.abbreviate(post.getTitle().trim(), postSearchConfig.getSuggestMaxTermLength());
+            termMap.putIfAbsent(normalize(title), title);
+        }
+        if (StringUtils.isNotBlank(post.getTags())) {
+            for (String tag : JSONUtil.toList(post.getTags(), String.class)) {
+                if (StringUtils.isNotBlank(tag)) {
+                    termMap.putIfAbsent(normalize(tag), tag.trim());
+                }
+            }
+        }
+        return new ArrayList<>(termMap.values());
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 不可变的索引快照
+     */
+    private static final class Snapshot {
+
+        private static final Snapshot EMPTY = new Snapshot(new String[0], new String[0], new int[0], Map.of(), 0);
+
+        /**
+         * 归一化后的建议词，升序
+         */
+        private final String[] terms;
+
+        /**
+         * 建议词的展示文本
+         */
+        private final String[] displays;
+
+        /**
+         * 建议词的权重
+         */
+        private final int[] weights;
+
+        /**
+         * 短前缀 -> 权重最高的建议词下标（按权重倒序）
+         */
+        private final Map<String, int[]> topByPrefix;
+
+        private final int cachedPrefixLength;
+
+        private Snapshot(String[] terms, String[] displays, int[] weights, Map<String, int[]> topByPrefix,
+                         int cachedPrefixLength) {
+            this.terms = terms;
+            this.displays = displays;
+            this.weights = weights;
+            this.topByPrefix = topByPrefix;
+            this.cachedPrefixLength = cachedPrefixLength;
+        }
+
+        private static Snapshot build(Collection<List<String>> postTermLists, int topN, int cachedPrefixLength) {
+            // 1. 合并相同的词，统计权重
+            Map<String, String> displayMap = new HashMap<>();
+            Map<String, Integer> weightMap = new HashMap<>();
+            for (List<String> termList : postTermLists) {
+                for (String term : termList) {
+                    String normalized = normalize(term);
+                    displayMap.putIfAbsent(normalized, term);
+                    weightMap.merge(normalized, 1, Integer::sum);
+                }
+            }
+            String[] terms = weightMap.keySet().toArray(new String[0]);
+            Arrays.sort(terms);
+            String[] displays = new String[terms.length];
+            int[] weights = new int[terms.length];
+            for (int i = 0; i < terms.length; i++) {
+                displays[i] = displayMap.get(terms[i]);
+                weights[i] = weightMap.get(terms[i]);
+            }
+            Snapshot snapshot = new Snapshot(terms, displays, weights, new HashMap<>(), cachedPrefixLength);
+
+            // 2. 预先计算短前缀的 Top-N：同一前缀的词在有序数组中连续，逐段计算
+            for (int length = 1; length <= cachedPrefixLength; length++) {
+                int start = 0;
+                while (start < terms.length) {
+                    if (terms[start].length() < length) {
+                        start++;
+                        continue;
+                    }
+                    String prefix = terms[start].substring(0, length);
+                    int end = start + 1;
+                    while (end < terms.length && terms[end].startsWith(prefix)) {
+                        end++;
+                    }
+                    snapshot.topByPrefix.put(prefix, snapshot.top(start, end, topN));
+                    start = end;
+                }
+            }
+            return snapshot;
+        }
+
+        /**
+         * 二分定位前缀区间，扫描得到权重最高的建议词
+         */
+        private int[] scanTop(String prefix, int limit, int maxScan) {
+            int start = Arrays.binarySearch(terms, prefix);
+            if (start < 0) {
+                start = -start - 1;
+            }
+            int end = start;
+            while (end < terms.length && end - start < maxScan && terms[end].startsWith(prefix)) {
+                end++;
+            }
+            return top(start, end, limit);
+        }
+
+        /**
+         * 计算 [start, end) 区间内权重最高的 n 个词，按权重倒序
+         */
+        private int[] top(int start, int end, int n) {
+            PriorityQueue<Integer> heap = new PriorityQueue<>(Comparator.comparingInt(i -> weights[i]));
+            for (int i = start; i < end; i++) {
+                heap.offer(i);
+                if (heap.size() > n) {
+                    heap.poll();
+                }
+            }
+            int[] result = new int[heap.size()];
+            for (int i = result.length - 1; i >= 0; i--) {
+                result[i] = heap.poll();
+            }
+            return result;
+        }
+    }
+}
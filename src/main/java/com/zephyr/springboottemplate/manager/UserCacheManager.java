@@ -0,0 +1,131 @@
+package com.zephyr.springboottemplate.manager;
+
+import cn.hutool.cache.CacheUtil;
+import cn.hutool.cache.impl.LRUCache;
+import com.zephyr.springboottemplate.config.UserCacheConfig;
+import com.zephyr.springboottemplate.model.dto.user.UserPrincipal;
+import com.zephyr.springboottemplate.model.entity.User;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+
+/**
+ * 用户短时缓存管理器
+ *
+ * <p>
+ * 为登录用户解析提供短 TTL 的进程内缓存，避免同一用户在短时间内被反复查库。
+ * 另缓存只含 ID 与角色的登录身份 {@link UserPrincipal}，供权限校验使用。
+ * 用户更新、删除或封禁时需调用 {@link #evict(long)} 使缓存失效。
+ * </p>
+ */
+@Component
+public class UserCacheManager {
+
+    @Resource
+    private UserCacheConfig userCacheConfig;
+
+    private LRUCache<Long, User> cache;
+
+    private LRUCache<Long, UserPrincipal> principalCache;
+
+    @PostConstruct
+    public void init() {
+        cache = CacheUtil.newLRUCache(userCacheConfig.getMaxSize(),
+                TimeUnit.SECONDS.toMillis(userCacheConfig.getTtlSeconds()));
+        principalCache = CacheUtil.newLRUCache(userCacheConfig.getPrincipalMaxSize(),
+                TimeUnit.SECONDS.toMillis(userCacheConfig.getTtlSeconds()));
+    }
+
+    /**
+     * 获取用户缓存，未命中时通过 loader 加载并回填
+     *
+     * @param userId 用户 ID
+     * @param loader 未命中时的加载方法，返回 null 表示用户不存在（不缓存）
+     * @return 用户对象，不存在时返回 null
+     */
+    public User get(long userId, LongFunction<User> loader) {
+        if (!userCacheConfig.isEnabled()) {
+            return loader.apply(userId);
+        }
+        User user = cache.get(userId);
+        if (user == null) {
+            user = loader.apply(userId);
+            if (user != null) {
+                cache.put(userId, user);
+            }
+        }
+        return user;
+    }
+
+    /**
+     * 批量获取用户缓存，未命中的用户通过 loader 一次批量加载并回填
+     *
+     * @param userIds 用户 ID 集合
+     * @param loader  批量加载方法，不存在的用户不返回（不缓存）
+     * @return 用户 ID -> 用户对象，不存在的用户不包含在内
+     */
+    public Map<Long, User> getAll(Collection<Long> userIds, Function<Collection<Long>, List<User>> loader) {
+        Map<Long, User> userMap = new HashMap<>();
+        Set<Long> missingUserIds = new HashSet<>();
+        for (Long userId : userIds) {
+            User user = userCacheConfig.isEnabled() ? cache.get(userId) : null;
+            if (user != null) {
+                userMap.put(userId, user);
+            } else {
+                missingUserIds.add(userId);
+            }
+        }
+        if (!missingUserIds.isEmpty()) {
+            for (User user : loader.apply(missingUserIds)) {
+                userMap.put(user.getId(), user);
+                if (userCacheConfig.isEnabled()) {
+                    cache.put(user.getId(), user);
+                }
+            }
+        }
+        return userMap;
+    }
+
+    /**
+     * 获取登录身份缓存，未命中时优先由用户缓存构建，仍未命中再通过 loader 加载
+     *
+     * @param userId 用户 ID
+     * @param loader 未命中时的加载方法，返回 null 表示用户不存在（不缓存）
+     * @return 登录身份，不存在时返回 null
+     */
+    public UserPrincipal getPrincipal(long userId, LongFunction<User> loader) {
+        if (!userCacheConfig.isEnabled()) {
+            User user = loader.apply(userId);
+            return user == null ? null : UserPrincipal.of(user);
+        }
+        UserPrincipal principal = principalCache.get(userId);
+        if (principal == null) {
+            User user = get(userId, loader);
+            if (user != null) {
+                principal = UserPrincipal.of(user);
+                principalCache.put(userId, principal);
+            }
+        }
+        return principal;
+    }
+
+    /**
+     * 使指定用户的缓存失效
+     *
+     * @param userId 用户 ID
+     */
+    public void evict(long userId) {
+        cache.remove(userId);
+        principalCache.remove(userId);
+    }
+}
@@ -0,0 +1,81 @@
+package com.zephyr.springboottemplate.manager.lock;
+
+import com.zephyr.springboottemplate.common.ErrorCode;
+import com.zephyr.springboottemplate.config.KeyLockConfig;
+import com.zephyr.springboottemplate.exception.BusinessException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.Resource;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 键锁管理器基类
+ *
+ * <p>
+ * 统一处理等待超时和锁等待耗时指标（key.lock.wait，标签 name / result），
+ * 子类只需实现加锁、解锁。
+ * </p>
+ */
+public abstract class AbstractKeyLockManager implements KeyLockManager {
+
+    /**
+     * 锁等待耗时指标名称
+     */
+    private static final String WAIT_METRIC_NAME = "key.lock.wait";
+
+    @Resource
+    protected KeyLockConfig keyLockConfig;
+
+    @Resource
+    private MeterRegistry meterRegistry;
+
+    @Override
+    public <T> T executeWithLock(String name, String key, Supplier<T> action) {
+        String lockKey = name + ":" + key;
+        long start = System.nanoTime();
+        Object handle;
+        try {
+            handle = tryLock(lockKey, keyLockConfig.getWaitTimeoutMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ErrorCode.SYSTEM_ERROR, "获取锁被中断");
+        }
+        recordWait(name, handle != null, System.nanoTime() - start);
+        if (handle == null) {
+            throw new BusinessException(ErrorCode.OPERATION_ERROR, "操作过于频繁，请稍后重试");
+        }
+        try {
+            return action.get();
+        } finally {
+            unlock(lockKey, handle);
+        }
+    }
+
+    /**
+     * 在等待时间内尝试加锁
+     *
+     * @param lockKey       锁键
+     * @param timeoutMillis 最长等待时间（毫秒）
+     * @return 锁句柄，解锁时传回；超时返回 null
+     */
+    protected abstract Object tryLock(String lockKey, long timeoutMillis) throws InterruptedException;
+
+    /**
+     * 解锁
+     *
+     * @param lockKey 锁键
+     * @param handle  加锁时返回的锁句柄
+     */
+    protected abstract void unlock(String lockKey, Object handle);
+
+    private void recordWait(String name, boolean acquired, long waitNanos) {
+        Timer.builder(WAIT_METRIC_NAME)
+                .description("按业务键加锁的等待耗时")
+                .tag("name", name)
+                .tag("result", acquired ? "acquired" : "timeout")
+                .register(meterRegistry)
+                .record(waitNanos, TimeUnit.NANOSECONDS);
+    }
+}
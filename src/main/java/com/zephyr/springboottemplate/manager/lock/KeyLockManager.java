@@ -0,0 +1,25 @@
+package com.zephyr.springboottemplate.manager.lock;
+
+import java.util.function.Supplier;
+
+/**
+ * 键锁管理器
+ *
+ * <p>
+ * 按「锁名称 + 业务键」互斥执行操作，不同业务键之间互不阻塞。
+ * 获取锁超时时抛出 {@link com.zephyr.springboottemplate.exception.BusinessException}。
+ * </p>
+ */
+public interface KeyLockManager {
+
+    /**
+     * 持有锁执行操作
+     *
+     * @param name   锁名称，用于区分业务场景（同时作为锁等待耗时指标的标签）
+     * @param key    业务键，如 userId:postId、账号
+     * @param action 需要互斥执行的操作
+     * @param <T>    返回值类型
+     * @return 操作的返回值
+     */
+    <T> T executeWithLock(String name, String key, Supplier<T> action);
+}
@@ -0,0 +1,55 @@
+package com.zephyr.springboottemplate.manager.lock;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 进程内分段键锁
+ *
+ * <p>
+ * 固定数量的 {@link ReentrantLock} 按锁键哈希分段，内存占用恒定，
+ * 不会像 String.intern() 那样不断膨胀字符串常量池，也不会在 synchronized 中钉住虚拟线程。
+ * 不同业务键可能落在同一分段上而偶尔互相等待，分段数越大冲突越少。
+ * 仅在单节点内互斥，多节点部署请使用 {@link RedisKeyLockManager}。
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "lock", name = "type", havingValue = "local", matchIfMissing = true)
+public class LocalKeyLockManager extends AbstractKeyLockManager {
+
+    private ReentrantLock[] locks;
+
+    @PostConstruct
+    public void init() {
+        int stripes = 1;
+        while (stripes < keyLockConfig.getStripes()) {
+            stripes <<= 1;
+        }
+        locks = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    protected Object tryLock(String lockKey, long timeoutMillis) throws InterruptedException {
+        ReentrantLock lock = stripe(lockKey);
+        return lock.tryLock(timeoutMillis, TimeUnit.MILLISECONDS) ? lock : null;
+    }
+
+    @Override
+    protected void unlock(String lockKey, Object handle) {
+        ((ReentrantLock) handle).unlock();
+    }
+
+    private ReentrantLock stripe(String lockKey) {
+        int hash = lockKey.hashCode();
+        // 扰动高位，避免相近的键集中在少数分段
+        hash ^= (hash >>> 16);
+        return locks[hash & (locks.length - 1)];
+    }
+}
@@ -0,0 +1,80 @@
+package com.zephyr.springboottemplate.manager.lock;
+
+import cn.hutool.core.util.IdUtil;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis 分布式键锁
+ *
+ * <p>
+ * 使用 SET key token NX PX lease 加锁，获取失败时退避重试直到超时；
+ * 解锁时通过 Lua 脚本比较 token 后删除，避免误删其他持有者的锁。
+ * 用于多节点部署，须先配置 Redis 并设置 lock.type=redis。
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "lock", name = "type", havingValue = "redis")
+@Slf4j
+public class RedisKeyLockManager extends AbstractKeyLockManager {
+
+    /**
+     * Redis 锁键前缀
+     */
+    private static final String REDIS_KEY_PREFIX = "lock:";
+
+    /**
+     * 最大退避时间（毫秒）
+     */
+    private static final long MAX_BACKOFF_MILLIS = 50;
+
+    /**
+     * 比较 token 后删除
+     */
+    private static final RedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    @Resource
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Override
+    protected Object tryLock(String lockKey, long timeoutMillis) throws InterruptedException {
+        String redisKey = REDIS_KEY_PREFIX + lockKey;
+        String token = IdUtil.fastSimpleUUID();
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        long backoff = 1;
+        while (true) {
+            Boolean acquired = stringRedisTemplate.opsForValue()
+                    .setIfAbsent(redisKey, token, keyLockConfig.getRedisLeaseMillis(), TimeUnit.MILLISECONDS);
+            if (Boolean.TRUE.equals(acquired)) {
+                return token;
+            }
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return null;
+            }
+            Thread.sleep(Math.min(backoff, remaining));
+            backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+        }
+    }
+
+    @Override
+    protected void unlock(String lockKey, Object handle) {
+        try {
+            stringRedisTemplate.execute(UNLOCK_SCRIPT,
+                    Collections.singletonList(REDIS_KEY_PREFIX + lockKey), (String) handle);
+        } catch (Exception e) {
+            // 解锁失败时锁会在租约到期后自动释放
+            log.warn("unlock redis key lock error, key: {}", lockKey, e);
+        }
+    }
+}
@@ -13,5 +13,14 @@ import org.apache.ibatis.annotations.Param;
  * 帖子收藏数据库操作
  */
 public interface PostCollectionMapper extends BaseMapper<PostCollection> {
-    Page<Post> listCollectedPostByPage(IPage<Post> page, @Param(Constants.WRAPPER) Wrapper<Post> queryWrapper, long collectedUserId);
+    Page<Post> listCollectedPostByPage(IPage<Post> page, @Param(Constants.WRAPPER) Wrapper<Post> queryWrapper, @Param("collectedUserId") long collectedUserId);
+
+    /**
+     * 插入收藏记录，已存在（userId, postId 唯一键冲突）时忽略
+     *
+     * @param userId 用户 ID
+     * @param postId 帖子 ID
+     * @return 影响行数，1 表示插入成功，0 表示记录已存在
+     */
+    int insertIgnore(@Param("userId") long userId, @Param("postId") long postId);
 }
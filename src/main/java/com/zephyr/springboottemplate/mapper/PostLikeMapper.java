@@ -13,5 +13,14 @@ import org.apache.ibatis.annotations.Param;
  * 帖子点赞数据库操作
  */
 public interface PostLikeMapper extends BaseMapper<PostLike> {
-    Page<Post> listLikedPostByPage(IPage<Post> page, @Param(Constants.WRAPPER) Wrapper<Post> queryWrapper, long likedUserId);
+    Page<Post> listLikedPostByPage(IPage<Post> page, @Param(Constants.WRAPPER) Wrapper<Post> queryWrapper, @Param("likedUserId") long likedUserId);
+
+    /**
+     * 插入点赞记录，已存在（userId, postId 唯一键冲突）时忽略
+     *
+     * @param userId 用户 ID
+     * @param postId 帖子 ID
+     * @return 影响行数，1 表示插入成功，0 表示记录已存在
+     */
+    int insertIgnore(@Param("userId") long userId, @Param("postId") long postId);
 }
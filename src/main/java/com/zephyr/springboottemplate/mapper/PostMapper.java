@@ -1,8 +1,11 @@
 package com.zephyr.springboottemplate.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.zephyr.springboottemplate.model.dto.post.PostCountDelta;
 import com.zephyr.springboottemplate.model.entity.Post;
+import org.apache.ibatis.annotations.Param;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 
@@ -11,10 +14,30 @@ import java.util.List;
  */
 public interface PostMapper extends BaseMapper<Post> {
     /**
-     * 查询帖子列表（包括已被删除的数据）
+     * 按 (updateTime, id) 顺序查询检查点之后更新的帖子（包括已被删除的数据）
      *
-     * @param minUpdateTime 最小更新时间，用于筛选更新日期在此时间之后的帖子
+     * @param lastUpdateTime 检查点更新时间
+     * @param lastId         检查点 id，只返回 (updateTime, id) 大于 (lastUpdateTime, lastId) 的帖子
+     * @param maxUpdateTime  最大更新时间（不含），用于跳过可能仍有未提交事务的最近时间段
+     * @param limit          最大返回条数
      * @return 符合条件的帖子列表，包括已被删除的数据
      */
-    List<Post> listPostWithDelete(Date minUpdateTime);
+    List<Post> listPostWithDelete(@Param("lastUpdateTime") Date lastUpdateTime, @Param("lastId") long lastId,
+                                  @Param("maxUpdateTime") Date maxUpdateTime, @Param("limit") int limit);
+
+    /**
+     * 根据 ID 批量查询帖子（包括已被删除的数据）
+     *
+     * @param ids 帖子 ID 集合
+     * @return 帖子列表，包括已被删除的数据
+     */
+    List<Post> listPostWithDeleteByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 批量累加帖子点赞数、收藏数（单条 UPDATE ... CASE 语句，计数不会小于 0）
+     *
+     * @param deltaList 帖子计数增量列表
+     * @return 影响行数
+     */
+    int batchIncrCount(@Param("deltaList") List<PostCountDelta> deltaList);
 }
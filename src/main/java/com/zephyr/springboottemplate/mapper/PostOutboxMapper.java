@@ -0,0 +1,21 @@
+package com.zephyr.springboottemplate.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.zephyr.springboottemplate.model.entity.PostOutbox;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Collection;
+
+/**
+ * 帖子变更发件箱数据库操作
+ */
+public interface PostOutboxMapper extends BaseMapper<PostOutbox> {
+
+    /**
+     * 批量写入帖子变更
+     *
+     * @param postIds 发生变更的帖子 ID
+     * @return 影响行数
+     */
+    int insertBatch(@Param("postIds") Collection<Long> postIds);
+}
@@ -0,0 +1,30 @@
+package com.zephyr.springboottemplate.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.zephyr.springboottemplate.model.entity.PostTag;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+/**
+ * 帖子标签数据库操作
+ */
+public interface PostTagMapper extends BaseMapper<PostTag> {
+
+    /**
+     * 查询关联帖子数最多的标签 ID
+     *
+     * @param limit 返回的标签数量
+     * @return 标签 ID 列表，按关联帖子数降序
+     */
+    List<Long> listHotTagIds(@Param("limit") int limit);
+
+    /**
+     * 查询标签下的全部帖子 ID（按帖子 ID 升序）
+     *
+     * @param tagId 标签 ID
+     * @param limit 最多返回的帖子数量
+     * @return 帖子 ID 列表
+     */
+    List<Long> listPostIdsByTagId(@Param("tagId") long tagId, @Param("limit") int limit);
+}
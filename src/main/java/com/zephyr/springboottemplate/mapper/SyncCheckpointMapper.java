@@ -0,0 +1,23 @@
+package com.zephyr.springboottemplate.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.zephyr.springboottemplate.model.entity.SyncCheckpoint;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Date;
+
+/**
+ * 同步检查点数据库操作
+ */
+public interface SyncCheckpointMapper extends BaseMapper<SyncCheckpoint> {
+
+    /**
+     * 保存检查点，不存在时插入，存在时更新
+     *
+     * @param name           同步任务名称
+     * @param lastUpdateTime 已同步数据的最大更新时间
+     * @param lastId         更新时间等于 lastUpdateTime 的数据中已同步的最大 id
+     * @return 影响行数
+     */
+    int upsert(@Param("name") String name, @Param("lastUpdateTime") Date lastUpdateTime, @Param("lastId") long lastId);
+}
@@ -0,0 +1,10 @@
+package com.zephyr.springboottemplate.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.zephyr.springboottemplate.model.entity.Tag;
+
+/**
+ * 标签数据库操作
+ */
+public interface TagMapper extends BaseMapper<Tag> {
+}
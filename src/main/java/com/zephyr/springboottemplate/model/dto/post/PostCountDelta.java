@@ -0,0 +1,31 @@
+package com.zephyr.springboottemplate.model.dto.post;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 帖子计数增量
+ *
+ * 用于将内存中累加的点赞数、收藏数增量批量写回 post 表。
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostCountDelta {
+
+    /**
+     * 帖子ID
+     */
+    private Long postId;
+
+    /**
+     * 点赞数增量
+     */
+    private Long likeDelta;
+
+    /**
+     * 收藏数增量
+     */
+    private Long collectDelta;
+}
@@ -7,8 +7,10 @@ import lombok.Data;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.BeanUtils;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.elasticsearch.annotations.Field;
 import org.springframework.data.elasticsearch.annotations.FieldType;
+import org.springframework.data.elasticsearch.annotations.Setting;
 
 import java.io.Serial;
 import java.io.Serializable;
@@ -18,9 +20,20 @@ import java.util.List;
 /**
  * 数据传输对象（DTO） - Elasticsearch 索引对应的 Post 数据
  * 用于与 Elasticsearch 进行交互
+ * <p>
+ * 所有字段均显式声明映射，不依赖动态映射；索引按 createTime 倒序排序（es/post-settings.json），
+ * 按最新排序且不统计总数的查询可以提前终止。修改映射后需使用 blue-green 全量同步重建索引。
+ * <p>
+ * 搜索结果只用于取帖子 ID，完整数据从数据库批量查询，因此正文只建索引、不保存到 _source，
+ * 从搜索结果或 {@link #dtoToObj} 中得到的 content 为空。
+ * <p>
+ * 文档以 updateTime 毫秒值作为外部版本号写入（version_type=external_gte），
+ * 多个写入方乱序写入同一帖子时，较旧的状态会因版本冲突被拒绝，不会覆盖较新的状态。
  */
 // todo 取消注释开启 ES（须先配置 ES）
-// @Document(indexName = "post")
+// indexName 使用 blue-green 全量同步后为别名，实际索引（post_v{时间}）由 PostIndexManager 管理
+// @Document(indexName = "post", versionType = Document.VersionType.EXTERNAL_GTE)
+@Setting(settingPath = "es/post-settings.json")
 @Data
 public class PostEsDTO implements Serializable {
 
@@ -33,57 +46,75 @@ public class PostEsDTO implements Serializable {
      * 主键 ID
      */
     @Id
+    @Field(type = FieldType.Long)
     private Long id;
 
     /**
      * 帖子标题
+     * 使用 cjk 分词器（中日韩文字按二元组切分），中文标题也能按词匹配
      */
+    @Field(type = FieldType.Text, analyzer = "cjk")
     private String title;
 
     /**
      * 帖子内容
+     * 只建索引，不保存到 _source（正文占文档体积的绝大部分）
      */
+    @Field(type = FieldType.Text, analyzer = "cjk", excludeFromSource = true)
     private String content;
 
     /**
      * 帖子标签列表
+     * 仅用于精确过滤，不分词
      */
+    @Field(type = FieldType.Keyword)
     private List<String> tags;
 
     /**
      * 点赞数
      */
+    @Field(type = FieldType.Integer)
     private Integer likeCount;
 
     /**
      * 收藏数
      */
+    @Field(type = FieldType.Integer)
     private Integer collectCount;
 
     /**
      * 发布用户 ID
+     * 仅用于精确过滤，keyword 的 term 查询比数值类型更快
      */
+    @Field(type = FieldType.Keyword)
     private Long userId;
 
     /**
      * 创建时间
-     * 不建立索引，仅存储，用于排序或展示
+     * 不建立索引，仅用于排序（doc values）或展示；同时是索引排序字段
      */
-    @Field(index = false, store = true, type = FieldType.Date, format = {}, pattern = DATE_TIME_PATTERN)
+    @Field(index = false, type = FieldType.Date, format = {}, pattern = DATE_TIME_PATTERN)
     private Date createTime;
 
     /**
      * 更新时间
-     * 不建立索引，仅存储，用于排序或展示
+     * 不建立索引，仅用于排序（doc values）或展示
      */
-    @Field(index = false, store = true, type = FieldType.Date, format = {}, pattern = DATE_TIME_PATTERN)
+    @Field(index = false, type = FieldType.Date, format = {}, pattern = DATE_TIME_PATTERN)
     private Date updateTime;
 
     /**
      * 是否被删除标志
      */
+    @Field(type = FieldType.Integer)
     private Integer isDelete;
 
+    /**
+     * 外部版本号，取 updateTime 的毫秒值
+     */
+    @Version
+    private Long version;
+
     /**
      * 序列化 ID，用于兼容不同版本间的序列化反序列化
      */
@@ -107,6 +138,9 @@ public class PostEsDTO implements Serializable {
         if (StringUtils.isNotBlank(tagsStr)) {
             postEsDTO.setTags(JSONUtil.toList(tagsStr, String.class));
         }
+        if (post.getUpdateTime() != null) {
+            postEsDTO.setVersion(post.getUpdateTime().getTime());
+        }
         return postEsDTO;
     }
 
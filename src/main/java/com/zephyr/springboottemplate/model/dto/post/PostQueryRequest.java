@@ -62,6 +62,11 @@ public class PostQueryRequest extends PageRequest implements Serializable {
      */
     private Long collectUserId;
 
+    /**
+     * 需要返回聚合统计的字段，仅 ES 搜索支持，可选 tags、userId；游标分页时仅首页返回
+     */
+    private List<String> facets;
+
     /**
      * 序列化ID，确保对象在序列化和反序列化时的版本一致性
      */
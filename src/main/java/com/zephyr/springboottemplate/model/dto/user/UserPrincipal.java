@@ -0,0 +1,27 @@
+package com.zephyr.springboottemplate.model.dto.user;
+
+import com.zephyr.springboottemplate.model.entity.User;
+import com.zephyr.springboottemplate.model.enums.UserRoleEnum;
+
+/**
+ * 登录用户身份（仅包含权限校验所需的 ID 与角色）
+ *
+ * <p>
+ * 角色在创建时解析为枚举，权限校验时无需再按字符串匹配；占用内存远小于完整的 {@link User}，可缓存更多用户。
+ * </p>
+ *
+ * @param id   用户 ID
+ * @param role 用户角色，无效角色为 null
+ */
+public record UserPrincipal(long id, UserRoleEnum role) {
+
+    /**
+     * 从用户实体构建身份
+     *
+     * @param user 用户实体
+     * @return 用户身份
+     */
+    public static UserPrincipal of(User user) {
+        return new UserPrincipal(user.getId(), UserRoleEnum.getEnumByValue(user.getUserRole()));
+    }
+}
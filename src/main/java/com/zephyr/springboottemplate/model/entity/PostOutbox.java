@@ -0,0 +1,35 @@
+package com.zephyr.springboottemplate.model.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Date;
+
+/**
+ * 帖子变更发件箱（待同步到 Elasticsearch 的帖子变更）
+ */
+@Data
+@TableName(value = "post_outbox")
+public class PostOutbox implements Serializable {
+    /**
+     * id，自增，决定变更的处理顺序
+     */
+    @TableId(type = IdType.AUTO)
+    private Long id;
+    /**
+     * 发生变更的帖子id
+     */
+    private Long postId;
+    /**
+     * 创建时间
+     */
+    private Date createTime;
+    @Serial
+    @TableField(exist = false)
+    private static final long serialVersionUID = 1L;
+}
@@ -0,0 +1,39 @@
+package com.zephyr.springboottemplate.model.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Date;
+
+/**
+ * 帖子标签关联（标签倒排索引）
+ */
+@Data
+@TableName(value = "post_tag")
+public class PostTag implements Serializable {
+    /**
+     * id
+     */
+    @TableId(type = IdType.AUTO) // 标识该字段为表的主键，type = IdType.AUTO表示主键自增
+    private Long id;
+    /**
+     * 帖子id
+     */
+    private Long postId;
+    /**
+     * 标签id
+     */
+    private Long tagId;
+    /**
+     * 创建时间
+     */
+    private Date createTime;
+    @Serial
+    @TableField(exist = false)
+    private static final long serialVersionUID = 1L;
+}
@@ -0,0 +1,39 @@
+package com.zephyr.springboottemplate.model.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Date;
+
+/**
+ * 同步检查点（记录增量同步已处理到的位置）
+ */
+@Data
+@TableName(value = "sync_checkpoint")
+public class SyncCheckpoint implements Serializable {
+    /**
+     * 同步任务名称
+     */
+    @TableId(type = IdType.INPUT)
+    private String name;
+    /**
+     * 已同步数据的最大更新时间
+     */
+    private Date lastUpdateTime;
+    /**
+     * 更新时间等于 lastUpdateTime 的数据中已同步的最大 id
+     */
+    private Long lastId;
+    /**
+     * 更新时间
+     */
+    private Date updateTime;
+    @Serial
+    @TableField(exist = false)
+    private static final long serialVersionUID = 1L;
+}
@@ -0,0 +1,35 @@
+package com.zephyr.springboottemplate.model.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Date;
+
+/**
+ * 标签（标签字典）
+ */
+@Data
+@TableName(value = "tag")
+public class Tag implements Serializable {
+    /**
+     * 标签id
+     */
+    @TableId(type = IdType.AUTO) // 标识该字段为表的主键，type = IdType.AUTO表示主键自增
+    private Long id;
+    /**
+     * 标签名
+     */
+    private String tagName;
+    /**
+     * 创建时间
+     */
+    private Date createTime;
+    @Serial
+    @TableField(exist = false)
+    private static final long serialVersionUID = 1L;
+}
@@ -0,0 +1,30 @@
+package com.zephyr.springboottemplate.model.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * 聚合统计项视图（如某个标签及命中该标签的帖子数）
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetVO implements Serializable {
+
+    /**
+     * 字段取值
+     */
+    private String value;
+
+    /**
+     * 命中数量
+     */
+    private Long count;
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+}
@@ -27,6 +27,7 @@ public class PostVO implements Serializable {
 
     /**
      * 内容
+     * 开启 ES 直读时，未登录用户的搜索结果中为 null
      */
     private String content;
 
@@ -29,6 +29,14 @@ public interface PostService extends IService<Post> {
         */
         QueryWrapper<Post> getQueryWrapper(PostQueryRequest postQueryRequest);
 
+        /**
+        * 创建分页对象（游标分页模式下返回不统计总数的游标分页对象）
+        *
+        * @param postQueryRequest 帖子查询请求对象
+        * @return 帖子分页对象
+        */
+        Page<Post> createPage(PostQueryRequest postQueryRequest);
+
         /**
         * 从 ES 查询
         *
@@ -37,6 +45,14 @@ public interface PostService extends IService<Post> {
         */
         Page<Post> searchFromEs(PostQueryRequest postQueryRequest);
 
+        /**
+        * 从 ES 查询并直接由 ES 文档构建帖子视图（不查询数据库，不含正文与登录用户状态），用于匿名搜索
+        *
+        * @param postQueryRequest 帖子查询请求对象
+        * @return 帖子视图对象分页对象
+        */
+        Page<PostVO> searchPostVOFromEs(PostQueryRequest postQueryRequest);
+
         /**
         * 获取帖子封装
         *
@@ -46,6 +62,15 @@ public interface PostService extends IService<Post> {
         */
         PostVO getPostVO(Post post, HttpServletRequest request);
 
+        /**
+        * 根据 ID 获取帖子封装（帖子与作者信息走缓存，点赞、收藏状态实时计算）
+        *
+        * @param id 帖子 ID
+        * @param request HTTP 请求对象
+        * @return 帖子视图对象，帖子不存在时返回 null
+        */
+        PostVO getPostVOById(long id, HttpServletRequest request);
+
         /**
         * 分页获取帖子封装
         *
@@ -0,0 +1,39 @@
+package com.zephyr.springboottemplate.service;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.extension.service.IService;
+import com.zephyr.springboottemplate.model.entity.Post;
+import com.zephyr.springboottemplate.model.entity.PostTag;
+
+import java.util.List;
+
+/**
+ * 帖子标签服务接口
+ * 维护 post_tag 标签倒排索引，并基于索引构造标签过滤条件
+ */
+public interface PostTagService extends IService<PostTag> {
+
+    /**
+     * 同步帖子的标签索引（新增缺失的标签关联，删除已移除的标签关联）
+     *
+     * @param postId  帖子 ID
+     * @param tagList 帖子当前的标签列表
+     */
+    void syncPostTags(long postId, List<String> tagList);
+
+    /**
+     * 删除帖子的全部标签索引
+     *
+     * @param postId 帖子 ID
+     */
+    void removePostTags(long postId);
+
+    /**
+     * 向查询条件中添加标签过滤
+     *
+     * @param queryWrapper 帖子查询条件
+     * @param tags         必须全部包含的标签
+     * @param orTags       至少包含其中一个的标签
+     */
+    void applyTagFilter(QueryWrapper<Post> queryWrapper, List<String> tags, List<String> orTags);
+}
@@ -0,0 +1,43 @@
+package com.zephyr.springboottemplate.service;
+
+import com.baomidou.mybatisplus.extension.service.IService;
+import com.zephyr.springboottemplate.model.entity.Tag;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 标签服务接口
+ * 维护标签名与标签 ID 的字典
+ * 标签名统一按 {@link #normalizeTagName(String)} 规范化（去除首尾空白、转小写）后存储、缓存和查找，
+ * 与 tag.tagName 列不区分大小写的排序规则一致
+ */
+public interface TagService extends IService<Tag> {
+
+    /**
+     * 规范化标签名：去除首尾空白并转为小写
+     *
+     * @param tagName 标签名
+     * @return 规范化后的标签名，空白时返回空字符串
+     */
+    static String normalizeTagName(String tagName) {
+        return tagName == null ? "" : tagName.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 根据标签名获取标签 ID（不存在的标签不会创建）
+     *
+     * @param tagNames 标签名集合
+     * @return 规范化的标签名 -> 标签 ID，不存在的标签不在结果中
+     */
+    Map<String, Long> getTagIds(Collection<String> tagNames);
+
+    /**
+     * 根据标签名获取标签 ID，不存在的标签自动创建
+     *
+     * @param tagNames 标签名集合
+     * @return 规范化的标签名 -> 标签 ID
+     */
+    Map<String, Long> getOrCreateTagIds(Collection<String> tagNames);
+}
@@ -3,6 +3,7 @@ package com.zephyr.springboottemplate.service;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.extension.service.IService;
 import com.zephyr.springboottemplate.model.dto.user.UserQueryRequest;
+import com.zephyr.springboottemplate.model.dto.user.UserPrincipal;
 import com.zephyr.springboottemplate.model.entity.User;
 import com.zephyr.springboottemplate.model.vo.LoginUserVO;
 import com.zephyr.springboottemplate.model.vo.UserVO;
@@ -63,6 +64,14 @@ public interface UserService extends IService<User> {
      */
     User getLoginUserPermitNull(HttpServletRequest request);
 
+    /**
+     * 获取当前登录用户的身份（仅 ID 与角色，用于权限校验）
+     *
+     * @param request HTTP 请求对象，用于获取会话中的用户信息
+     * @return 当前登录用户的身份，如果未登录则抛出异常
+     */
+    UserPrincipal getLoginPrincipal(HttpServletRequest request);
+
     /**
      * 判断当前用户是否为管理员（基于 HTTP 请求）
      *
@@ -7,6 +7,8 @@ import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.zephyr.springboottemplate.common.ErrorCode;
 import com.zephyr.springboottemplate.exception.BusinessException;
+import com.zephyr.springboottemplate.manager.PostCounterAggregator;
+import com.zephyr.springboottemplate.manager.PostMembershipManager;
 import com.zephyr.springboottemplate.mapper.PostCollectionMapper;
 import com.zephyr.springboottemplate.model.entity.Post;
 import com.zephyr.springboottemplate.model.entity.PostCollection;
@@ -26,6 +28,12 @@ public class PostCollectionServiceImpl extends ServiceImpl<PostCollectionMapper,
     @Resource
     private PostService postService;
 
+    @Resource
+    private PostCounterAggregator postCounterAggregator;
+
+    @Resource
+    private PostMembershipManager postMembershipManager;
+
     @Override
     public int doPostCollection(long postId, User loginUser) {
         // 1. 检查帖子是否存在
@@ -37,53 +45,32 @@ public class PostCollectionServiceImpl extends ServiceImpl<PostCollectionMapper,
         // 2. 获取当前用户 ID
         long userId = loginUser.getId();
 
-        // 3. 使用 synchronized 锁定当前用户操作，避免同一用户同时收藏/取消收藏同一帖子
+        // 3. 调用内部方法执行收藏操作，并发安全由唯一键保证
         PostCollectionService postCollectionService = (PostCollectionService) AopContext.currentProxy();
-        synchronized (String.valueOf(userId).intern()) {
-            // 调用内部方法执行收藏操作
-            return postCollectionService.doPostCollectionInner(userId, postId);
-        }
+        return postCollectionService.doPostCollectionInner(userId, postId);
     }
+
     @Override
     public int doPostCollectionInner(long userId, long postId) {
-        // 1. 构造帖子收藏实体
-        PostCollection postCollection = new PostCollection();
-        postCollection.setUserId(userId);
-        postCollection.setPostId(postId);
-
-        // 2. 查询是否已收藏
-        QueryWrapper<PostCollection> postCollectionQueryWrapper = new QueryWrapper<>(postCollection);
-        PostCollection oldPostCollection = this.getOne(postCollectionQueryWrapper);
-        boolean result;
+        // 依赖 (userId, postId) 唯一键，由影响行数决定收藏方向，无需先查询、也无需加锁
+        // 1. 尝试收藏：已收藏时 INSERT IGNORE 不插入，影响行数为 0
+        if (baseMapper.insertIgnore(userId, postId) > 0) {
+            // 更新收藏数（+1）（聚合后批量写回，避免热点帖子行锁竞争）
+            postCounterAggregator.incrCollectCount(postId, 1);
+            postMembershipManager.onCollectChanged(userId, postId, true); // 同步用户收藏集合
+            return 1;
+        }
 
-        // 3. 如果已收藏，则执行取消收藏操作
-        if (oldPostCollection != null) {
-            result = this.remove(postCollectionQueryWrapper);
-            if (result) {
-                // 更新收藏数（-1）
-                result = postService.update()
-                        .eq("id", postId)
-                        .gt("collectCount", 0)
-                        .setSql("collectCount = collectCount - 1")
-                        .update();
-                return result ? -1 : 0;
-            } else {
-                throw new BusinessException(ErrorCode.SYSTEM_ERROR);
-            }
-        } else {
-            // 4. 如果未收藏，则执行收藏操作
-            result = this.save(postCollection);
-            if (result) {
-                // 更新收藏数（+1）
-                result = postService.update()
-                        .eq("id", postId)
-                        .setSql("collectCount = collectCount + 1")
-                        .update();
-                return result ? 1 : 0;
-            } else {
-                throw new BusinessException(ErrorCode.SYSTEM_ERROR);
-            }
+        // 2. 已收藏，则取消收藏：并发取消时只有一个请求能删除成功
+        QueryWrapper<PostCollection> postCollectionQueryWrapper = new QueryWrapper<>();
+        postCollectionQueryWrapper.eq("userId", userId).eq("postId", postId);
+        if (baseMapper.delete(postCollectionQueryWrapper) > 0) {
+            // 更新收藏数（-1）（聚合后批量写回，避免热点帖子行锁竞争）
+            postCounterAggregator.incrCollectCount(postId, -1);
+            postMembershipManager.onCollectChanged(userId, postId, false); // 同步用户收藏集合
+            return -1;
         }
+        return 0;
     }
 
     @Override
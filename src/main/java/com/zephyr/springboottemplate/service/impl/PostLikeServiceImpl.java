@@ -7,6 +7,8 @@ import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.zephyr.springboottemplate.common.ErrorCode;
 import com.zephyr.springboottemplate.exception.BusinessException;
+import com.zephyr.springboottemplate.manager.PostCounterAggregator;
+import com.zephyr.springboottemplate.manager.PostMembershipManager;
 import com.zephyr.springboottemplate.mapper.PostLikeMapper;
 import com.zephyr.springboottemplate.model.entity.Post;
 import com.zephyr.springboottemplate.model.entity.PostLike;
@@ -26,6 +28,12 @@ public class PostLikeServiceImpl extends ServiceImpl<PostLikeMapper, PostLike> i
     @Resource
     private PostService postService; // 注入帖子服务，用于处理帖子相关的逻辑
 
+    @Resource
+    private PostCounterAggregator postCounterAggregator;
+
+    @Resource
+    private PostMembershipManager postMembershipManager;
+
     @Override
     public int doPostLike(long postId, User loginUser) {
         // 1. 检查帖子是否存在
@@ -38,52 +46,31 @@ public class PostLikeServiceImpl extends ServiceImpl<PostLikeMapper, PostLike> i
         // 获取代理对象，用于调用事务方法
         PostLikeService postLikeService = (PostLikeService) AopContext.currentProxy();
 
-        // 2. 同步锁，防止同一用户同时对同一帖子进行并发点赞或取消点赞操作
-        synchronized (String.valueOf(userId).intern()) {
-            return postLikeService.doPostLikeInner(userId, postId);
-        }
+        // 2. 点赞或取消点赞，并发安全由唯一键保证
+        return postLikeService.doPostLikeInner(userId, postId);
     }
 
     @Override
     public int doPostLikeInner(long userId, long postId) {
-        // 1. 构造点赞记录
-        PostLike postLike = new PostLike();
-        postLike.setUserId(userId);
-        postLike.setPostId(postId);
-
-        // 2. 查询是否已存在点赞记录
-        QueryWrapper<PostLike> postLikeQueryWrapper = new QueryWrapper<>(postLike);
-        PostLike oldPostLike = this.getOne(postLikeQueryWrapper);
-        boolean result;
+        // 依赖 (userId, postId) 唯一键，由影响行数决定点赞方向，无需先查询、也无需加锁
+        // 1. 尝试点赞：已点赞时 INSERT IGNORE 不插入，影响行数为 0
+        if (baseMapper.insertIgnore(userId, postId) > 0) {
+            // 点赞数加 1（聚合后批量写回，避免热点帖子行锁竞争）
+            postCounterAggregator.incrLikeCount(postId, 1);
+            postMembershipManager.onLikeChanged(userId, postId, true); // 同步用户点赞集合
+            return 1; // 返回 1 表示点赞成功
+        }
 
-        // 3. 如果已点赞，则取消点赞
-        if (oldPostLike != null) {
-            result = this.remove(postLikeQueryWrapper); // 删除点赞记录
-            if (result) {
-                // 点赞数减 1
-                result = postService.update()
-                        .eq("id", postId) // 条件：帖子 ID
-                        .gt("likeCount", 0) // 条件：点赞数大于 0
-                        .setSql("likeCount = likeCount - 1") // SQL 操作：点赞数减 1
-                        .update();
-                return result ? -1 : 0; // 返回 -1 表示取消点赞成功，0 表示失败
-            } else {
-                throw new BusinessException(ErrorCode.SYSTEM_ERROR, "取消点赞失败");
-            }
-        } else {
-            // 4. 如果未点赞，则执行点赞操作
-            result = this.save(postLike); // 保存点赞记录
-            if (result) {
-                // 点赞数加 1
-                result = postService.update()
-                        .eq("id", postId) // 条件：帖子 ID
-                        .setSql("likeCount = likeCount + 1") // SQL 操作：点赞数加 1
-                        .update();
-                return result ? 1 : 0; // 返回 1 表示点赞成功，0 表示失败
-            } else {
-                throw new BusinessException(ErrorCode.SYSTEM_ERROR, "点赞失败");
-            }
+        // 2. 已点赞，则取消点赞：并发取消时只有一个请求能删除成功
+        QueryWrapper<PostLike> postLikeQueryWrapper = new QueryWrapper<>();
+        postLikeQueryWrapper.eq("userId", userId).eq("postId", postId);
+        if (baseMapper.delete(postLikeQueryWrapper) > 0) {
+            // 点赞数减 1（聚合后批量写回，避免热点帖子行锁竞争）
+            postCounterAggregator.incrLikeCount(postId, -1);
+            postMembershipManager.onLikeChanged(userId, postId, false); // 同步用户点赞集合
+            return -1; // 返回 -1 表示取消点赞成功
         }
+        return 0; // 返回 0 表示记录已被并发请求删除，本次未改变状态
     }
 
     @Override
@@ -1,28 +1,43 @@
 package com.zephyr.springboottemplate.service.impl;
 
 import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.lang.Pair;
+import cn.hutool.json.JSONUtil;
 import co.elastic.clients.elasticsearch._types.SortOptions;
 import co.elastic.clients.elasticsearch._types.SortOrder;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregate;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregation;
 import co.elastic.clients.elasticsearch._types.query_dsl.Query;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.zephyr.springboottemplate.common.CursorPage;
+import com.zephyr.springboottemplate.common.FacetPage;
 import com.zephyr.springboottemplate.common.ErrorCode;
-import com.zephyr.springboottemplate.constant.SortConstant;
+import com.zephyr.springboottemplate.config.PostSearchConfig;
 import com.zephyr.springboottemplate.exception.BusinessException;
-import com.zephyr.springboottemplate.mapper.PostCollectionMapper;
-import com.zephyr.springboottemplate.mapper.PostLikeMapper;
+import com.zephyr.springboottemplate.manager.EnrichExecutor;
+import com.zephyr.springboottemplate.manager.PostCacheManager;
+import com.zephyr.springboottemplate.manager.PostCounterAggregator;
+import com.zephyr.springboottemplate.manager.PostFacetCacheManager;
+import com.zephyr.springboottemplate.manager.PostIndexManager;
+import com.zephyr.springboottemplate.manager.PostIndexRepairManager;
+import com.zephyr.springboottemplate.manager.PostMembershipManager;
+import com.zephyr.springboottemplate.manager.PostOutboxManager;
+import com.zephyr.springboottemplate.manager.PostSearchCacheManager;
+import com.zephyr.springboottemplate.manager.UserCacheManager;
 import com.zephyr.springboottemplate.mapper.PostMapper;
 import com.zephyr.springboottemplate.model.dto.post.PostEsDTO;
 import com.zephyr.springboottemplate.model.dto.post.PostQueryRequest;
 import com.zephyr.springboottemplate.model.entity.Post;
-import com.zephyr.springboottemplate.model.entity.PostCollection;
-import com.zephyr.springboottemplate.model.entity.PostLike;
 import com.zephyr.springboottemplate.model.entity.User;
+import com.zephyr.springboottemplate.model.vo.FacetVO;
 import com.zephyr.springboottemplate.model.vo.PostVO;
 import com.zephyr.springboottemplate.model.vo.UserVO;
 import com.zephyr.springboottemplate.service.PostService;
+import com.zephyr.springboottemplate.service.PostTagService;
 import com.zephyr.springboottemplate.service.UserService;
+import com.zephyr.springboottemplate.utils.CursorUtils;
 import com.zephyr.springboottemplate.utils.SqlUtils;
 import com.zephyr.springboottemplate.utils.ThrowUtils;
 import jakarta.annotation.Resource;
@@ -32,31 +47,84 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchAggregation;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchAggregations;
 import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.client.elc.NativeQueryBuilder;
 import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
 import co.elastic.clients.elasticsearch._types.query_dsl.QueryBuilders;
 import org.springframework.data.elasticsearch.core.SearchHit;
 import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.FetchSourceFilter;
+import org.springframework.data.elasticsearch.core.query.SourceFilter;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.Serializable;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 public class PostServiceImpl extends ServiceImpl<PostMapper, Post> implements PostService {
 
+    /**
+     * 游标分页支持的排序字段
+     */
+    private static final String CURSOR_SORT_FIELD = "createTime";
+
+    /**
+     * 搜索结果只取回 ID，帖子数据从数据库批量查询
+     */
+    private static final SourceFilter ID_SOURCE_FILTER = new FetchSourceFilter(new String[]{"id"}, null);
+
+    /**
+     * 支持聚合统计的字段
+     */
+    private static final Set<String> FACET_FIELDS = Set.of("tags", "userId");
+
     @Resource
     private UserService userService;
 
     @Resource
-    private PostLikeMapper postLikeMapper;
+    private ElasticsearchOperations elasticsearchOperations;
+
+    @Resource
+    private PostCacheManager postCacheManager;
 
     @Resource
-    private PostCollectionMapper postCollectionMapper;
+    private PostTagService postTagService;
 
     @Resource
-    private ElasticsearchOperations elasticsearchOperations;
+    private PostOutboxManager postOutboxManager;
+
+    @Resource
+    private PostIndexRepairManager postIndexRepairManager;
+
+    @Resource
+    private PostSearchConfig postSearchConfig;
+
+    @Resource
+    private UserCacheManager userCacheManager;
+
+    @Resource
+    private PostFacetCacheManager postFacetCacheManager;
+
+    @Resource
+    private PostSearchCacheManager postSearchCacheManager;
+
+    @Resource
+    private PostMembershipManager postMembershipManager;
+
+    @Resource
+    private PostCounterAggregator postCounterAggregator;
+
+    @Resource
+    private EnrichExecutor enrichExecutor;
+
     @Override
     public void validPost(Post post, boolean add) {
         if (post == null) {
@@ -93,9 +161,9 @@ public class PostServiceImpl extends ServiceImpl<PostMapper, Post> implements Po
         String title = postQueryRequest.getTitle();
         String content = postQueryRequest.getContent();
         List<String> tags = postQueryRequest.getTags();
+        List<String> orTags = postQueryRequest.getOrTags();
         Long userId = postQueryRequest.getUserId();
         String sortField = postQueryRequest.getSortField();
-        String sortOrder = postQueryRequest.getSortOrder();
 
         if (StringUtils.isNotBlank(searchText)) {
             queryWrapper.and(qw -> qw.like("title", searchText).or().like("content", searchText));
@@ -104,26 +172,87 @@ public class PostServiceImpl extends ServiceImpl<PostMapper, Post> implements Po
         queryWrapper.like(StringUtils.isNotBlank(title), "title", title);
         queryWrapper.like(StringUtils.isNotBlank(content), "content", content);
 
-        if (CollUtil.isNotEmpty(tags)) {
-            for (String tag : tags) {
-                queryWrapper.like("tags", "\"" + tag + "\"");
-            }
-        }
+        // 标签过滤：走 post_tag 倒排索引（热门标签直接在内存中求交 / 并），避免 LIKE 全表扫描
+        postTagService.applyTagFilter(queryWrapper, tags, orTags);
 
         queryWrapper.ne(ObjectUtils.isNotEmpty(notId), "id", notId);
         queryWrapper.eq(ObjectUtils.isNotEmpty(id), "id", id);
         queryWrapper.eq(ObjectUtils.isNotEmpty(userId), "userId", userId);
+
+        // 游标分页：按 (createTime, id) 定位，走 (createTime, id) 复合索引，无需 offset 扫描
+        if (postQueryRequest.isCursorMode()) {
+            ThrowUtils.throwIf(StringUtils.isNotBlank(sortField) && !CURSOR_SORT_FIELD.equals(sortField),
+                    ErrorCode.PARAMS_ERROR, "游标分页仅支持按创建时间排序");
+            // 未指定排序顺序时按最新在前：(createTime, id) < (?, ?)
+            boolean isAsc = postQueryRequest.isAsc(false);
+            String cursor = postQueryRequest.getCursor();
+            if (StringUtils.isNotBlank(cursor)) {
+                long[] position = CursorUtils.decode(cursor);
+                queryWrapper.apply("(createTime, id) " + (isAsc ? ">" : "<") + " ({0}, {1})",
+                        new Date(position[0]), position[1]);
+            }
+            queryWrapper.orderBy(true, isAsc, CURSOR_SORT_FIELD);
+            queryWrapper.orderBy(true, isAsc, "id");
+            return queryWrapper;
+        }
+
         queryWrapper.orderBy(
                 SqlUtils.validSortField(sortField),             // 1. 是否启用排序条件
-                sortOrder.equals(SortConstant.SORT_ORDER_ASC), // 2. 排序方向（升序或降序）
+                postQueryRequest.isAsc(true),                  // 2. 排序方向（升序或降序，默认升序）
                 sortField                                      // 3. 排序字段
         );
 
         return queryWrapper;
     }
 
+    @Override
+    public Page<Post> createPage(PostQueryRequest postQueryRequest) {
+        if (postQueryRequest.isCursorMode()) {
+            return new CursorPage<>(postQueryRequest.getPageSize());
+        }
+        return new Page<>(postQueryRequest.getCurrentNum(), postQueryRequest.getPageSize());
+    }
+
     @Override
     public Page<Post> searchFromEs(PostQueryRequest postQueryRequest) {
+        return searchFromEs(postQueryRequest, false);
+    }
+
+    @Override
+    public Page<PostVO> searchPostVOFromEs(PostQueryRequest postQueryRequest) {
+        Page<Post> postPage = searchFromEs(postQueryRequest, true);
+        FacetPage<PostVO> postVOPage = postPage instanceof CursorPage<Post> cursorPage
+                ? new CursorPage<>(postPage.getSize(), cursorPage.getNextCursor())
+                : new FacetPage<>(postPage.getCurrent(), postPage.getSize(), postPage.getTotal());
+        if (postPage instanceof FacetPage<Post> facetPage) {
+            postVOPage.setFacets(facetPage.getFacets());
+        }
+        // 作者信息走用户缓存，未命中的作者一次批量查询
+        Set<Long> userIdSet = postPage.getRecords().stream().map(Post::getUserId)
+                .filter(Objects::nonNull).collect(Collectors.toSet());
+        Map<Long, User> userMap = userIdSet.isEmpty() ? Collections.emptyMap()
+                : userCacheManager.getAll(userIdSet, userService::listByIds);
+        List<PostVO> postVOList = postPage.getRecords().stream().map(post -> {
+            PostVO postVO = PostVO.objToVo(post);
+            // ES 中的计数可能落后于数据库，叠加内存中尚未同步到 ES 的增量
+            postCounterAggregator.overlayIndexed(postVO, post.getUpdateTime());
+            postVO.setUser(userService.getUserVO(post.getUserId() == null ? null : userMap.get(post.getUserId())));
+            postVO.setHasLike(false);
+            postVO.setHasCollect(false);
+            return postVO;
+        }).toList();
+        postVOPage.setRecords(postVOList);
+        return postVOPage;
+    }
+
+    /**
+     * 从 ES 查询
+     *
+     * @param postQueryRequest 帖子查询请求对象
+     * @param esOnly           是否直接由 ES _source 构建帖子（不查询数据库，帖子不含正文）
+     * @return 帖子分页对象
+     */
+    private Page<Post> searchFromEs(PostQueryRequest postQueryRequest, boolean esOnly) {
         // 从请求参数中提取条件
         Long id = postQueryRequest.getId();                 // 查询特定 ID 的记录
         Long notId = postQueryRequest.getNotId();           // 排除特定 ID 的记录
@@ -138,6 +267,21 @@ public class PostServiceImpl extends ServiceImpl<PostMapper, Post> implements Po
         long currentNum = postQueryRequest.getCurrentNum() - 1; // 当前页码（Elasticsearch 起始页为 0）
         long pageSize = postQueryRequest.getPageSize();     // 每页大小
 
+        // 热门查询直接复用缓存的帖子 ID 列表（游标分页依赖 point-in-time，ES 直读需要文档内容，均不缓存）
+        boolean cacheable = !esOnly && !postQueryRequest.isCursorMode();
+        String searchCacheKey = cacheable ? buildSearchCacheKey(postQueryRequest) : null;
+        long searchCacheGeneration = postSearchCacheManager.currentGeneration();
+        if (cacheable) {
+            PostSearchCacheManager.CachedSearch cachedSearch = postSearchCacheManager.get(searchCacheKey);
+            if (cachedSearch != null) {
+                FacetPage<Post> page = new FacetPage<>();
+                page.setTotal(cachedSearch.total());
+                page.setRecords(loadPosts(cachedSearch.postIds()));
+                page.setFacets(cachedSearch.facets());
+                return page;
+            }
+        }
+
         // 构建 BoolQuery（布尔查询）
         Query boolQuery = QueryBuilders.bool(b -> {
             // 添加过滤条件
@@ -199,31 +343,252 @@ public class PostServiceImpl extends ServiceImpl<PostMapper, Post> implements Po
                     ));
         }
 
+        // 聚合统计（可选）
+        FacetContext facetContext = createFacetContext(postQueryRequest);
+
+        // 游标模式：在 point-in-time 快照上使用 search_after 翻页，每页代价与页码无关
+        if (postQueryRequest.isCursorMode()) {
+            return searchFromEsByCursor(boolQuery, sortOptions, postQueryRequest.getCursor(), pageSize, facetContext, esOnly);
+        }
+
         // 分页参数
         PageRequest pageRequest = PageRequest.of((int) currentNum, (int) pageSize);
 
         // 构建查询
-        NativeQuery nativeQuery = NativeQuery.builder()
+        NativeQueryBuilder nativeQueryBuilder = NativeQuery.builder()
                 .withQuery(boolQuery)         // 设置查询条件
                 .withPageable(pageRequest)    // 设置分页参数
                 .withSort(sortOptions)        // 设置排序规则
-                .build();
+                .withSourceFilter(esOnly ? null : ID_SOURCE_FILTER); // 非直读时只取回帖子 ID
+        addFacetAggregations(nativeQueryBuilder, facetContext); // 设置聚合
 
         // 执行查询
-        SearchHits<PostEsDTO> searchHits = elasticsearchOperations.search(nativeQuery, PostEsDTO.class);
+        SearchHits<PostEsDTO> searchHits = elasticsearchOperations.search(nativeQueryBuilder.build(), PostEsDTO.class);
 
         // 初始化返回的分页对象
-        Page<Post> page = new Page<>();
+        FacetPage<Post> page = new FacetPage<>();
         page.setTotal(searchHits.getTotalHits()); // 设置总记录数
-        List<Post> resourceList = new ArrayList<>();
-
-        // 查出结果后，从数据库获取动态数据（如点赞数）
-        if (searchHits.hasSearchHits()) {
-            List<SearchHit<PostEsDTO>> searchHitList = searchHits.getSearchHits();
-            List<Long> postIdList = searchHitList.stream()
+        page.setRecords(esOnly ? toPostList(searchHits) : loadSearchHits(searchHits));
+        page.setFacets(resolveFacets(searchHits, facetContext)); // 设置聚合结果
+        if (cacheable) {
+            List<Long> postIdList = searchHits.getSearchHits().stream()
                     .map(searchHit -> searchHit.getContent().getId())
                     .toList();
+            postSearchCacheManager.put(searchCacheGeneration, searchCacheKey,
+                    new PostSearchCacheManager.CachedSearch(postIdList, page.getTotal(), page.getFacets()));
+        }
+        return page; // 返回分页结果
+    }
+
+    /**
+     * 游标方式搜索帖子
+     * 首页打开 point-in-time，后续页从游标中取出 point-in-time ID 与上一页最后一条的排序值（search_after），
+     * 并追加 id 作为排序的唯一性兜底，保证相同分数 / 字段值的帖子不会重复或遗漏。最后一页时关闭 point-in-time。
+     *
+     * @param boolQuery   查询条件
+     * @param sortOptions 排序规则
+     * @param cursor      游标，首页为空
+     * @param pageSize     每页大小
+     * @param facetContext 聚合统计上下文，不需要聚合时为 null
+     * @param esOnly       是否直接由 ES _source 构建帖子
+     * @return 游标分页结果
+     */
+    private Page<Post> searchFromEsByCursor(Query boolQuery, SortOptions sortOptions, String cursor, long pageSize,
+                                            FacetContext facetContext, boolean esOnly) {
+        Duration keepAlive = Duration.ofSeconds(postSearchConfig.getPitKeepAliveSeconds());
+        String pitId;
+        List<Object> searchAfter = null;
+        if (StringUtils.isNotBlank(cursor)) {
+            Pair<String, List<Object>> pitCursor = CursorUtils.decodeSearch(cursor);
+            pitId = pitCursor.getKey();
+            searchAfter = pitCursor.getValue();
+        } else {
+            pitId = elasticsearchOperations.openPointInTime(IndexCoordinates.of(PostIndexManager.ALIAS), keepAlive);
+        }
+
+        // 使用 point-in-time 时不能指定索引，分页固定从第 0 条开始，不统计总数
+        SortOptions idSortOptions = SortOptions.of(s -> s.field(f -> f.field("id").order(SortOrder.Asc)));
+        NativeQueryBuilder nativeQueryBuilder = NativeQuery.builder()
+                .withQuery(boolQuery)
+                .withPageable(PageRequest.of(0, (int) pageSize))
+                .withSort(List.of(sortOptions, idSortOptions))
+                .withPointInTime(new org.springframework.data.elasticsearch.core.query.Query.PointInTime(pitId, keepAlive))
+                .withSearchAfter(searchAfter)
+                .withTrackTotalHits(false)
+                .withSourceFilter(esOnly ? null : ID_SOURCE_FILTER);
+        addFacetAggregations(nativeQueryBuilder, facetContext);
+        SearchHits<PostEsDTO> searchHits;
+        try {
+            searchHits = elasticsearchOperations.search(nativeQueryBuilder.build(), PostEsDTO.class);
+        } catch (RuntimeException e) {
+            // point-in-time 已过期或游标被篡改
+            log.warn("search post by cursor error", e);
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "游标已失效，请重新搜索");
+        }
+
+        // ES 每次请求可能返回新的 point-in-time ID，下一页应使用最新的
+        String nextPitId = StringUtils.defaultIfBlank(searchHits.getPointInTimeId(), pitId);
+        List<SearchHit<PostEsDTO>> searchHitList = searchHits.getSearchHits();
+        String nextCursor = null;
+        if (searchHitList.size() < pageSize) {
+            elasticsearchOperations.closePointInTime(nextPitId);
+        } else {
+            nextCursor = CursorUtils.encodeSearch(nextPitId, searchHitList.get(searchHitList.size() - 1).getSortValues());
+        }
+        CursorPage<Post> page = new CursorPage<>(pageSize, nextCursor);
+        page.setRecords(esOnly ? toPostList(searchHits) : loadSearchHits(searchHits));
+        page.setFacets(resolveFacets(searchHits, facetContext));
+        return page;
+    }
+
+    /**
+     * 创建聚合统计上下文：校验聚合字段，并按查询条件（不含分页参数）查询聚合结果缓存
+     *
+     * @param postQueryRequest 帖子查询请求对象
+     * @return 聚合统计上下文，未请求聚合或游标分页的非首页时返回 null
+     */
+    private FacetContext createFacetContext(PostQueryRequest postQueryRequest) {
+        List<String> facets = postQueryRequest.getFacets();
+        if (CollUtil.isEmpty(facets)
+                || (postQueryRequest.isCursorMode() && StringUtils.isNotBlank(postQueryRequest.getCursor()))) {
+            return null;
+        }
+        List<String> facetFields = facets.stream().distinct().sorted().toList();
+        ThrowUtils.throwIf(!FACET_FIELDS.containsAll(facetFields), ErrorCode.PARAMS_ERROR, "不支持的聚合字段");
+
+        // 缓存键：归一化后的查询条件 + 聚合字段
+        Map<String, Object> keyMap = normalizeSearchQuery(postQueryRequest);
+        keyMap.put("facets", facetFields);
+        String cacheKey = JSONUtil.toJsonStr(keyMap);
+        return new FacetContext(facetFields, cacheKey, postFacetCacheManager.get(cacheKey));
+    }
+
+    /**
+     * 归一化搜索条件（不含排序和分页）：文本去除首尾空白，标签去重排序，语义相同的查询得到相同的结果
+     *
+     * @param postQueryRequest 帖子查询请求对象
+     * @return 有序的条件 Map，可直接序列化为缓存键
+     */
+    private Map<String, Object> normalizeSearchQuery(PostQueryRequest postQueryRequest) {
+        Map<String, Object> keyMap = new LinkedHashMap<>();
+        keyMap.put("searchText", StringUtils.trimToNull(postQueryRequest.getSearchText()));
+        keyMap.put("title", StringUtils.trimToNull(postQueryRequest.getTitle()));
+        keyMap.put("content", StringUtils.trimToNull(postQueryRequest.getContent()));
+        keyMap.put("tags", CollUtil.isEmpty(postQueryRequest.getTags()) ? null : new TreeSet<>(postQueryRequest.getTags()));
+        keyMap.put("orTags", CollUtil.isEmpty(postQueryRequest.getOrTags()) ? null : new TreeSet<>(postQueryRequest.getOrTags()));
+        keyMap.put("userId", postQueryRequest.getUserId());
+        keyMap.put("id", postQueryRequest.getId());
+        keyMap.put("notId", postQueryRequest.getNotId());
+        return keyMap;
+    }
+
+    /**
+     * 生成搜索结果缓存键：归一化后的搜索条件 + 排序 + 分页 + 聚合字段
+     *
+     * @param postQueryRequest 帖子查询请求对象
+     * @return 缓存键
+     */
+    private String buildSearchCacheKey(PostQueryRequest postQueryRequest) {
+        Map<String, Object> keyMap = normalizeSearchQuery(postQueryRequest);
+        keyMap.put("sortField", StringUtils.trimToNull(postQueryRequest.getSortField()));
+        keyMap.put("sortOrder", StringUtils.isBlank(postQueryRequest.getSortField()) ? null
+                : "ASC".equalsIgnoreCase(postQueryRequest.getSortOrder()) ? "asc" : "desc");
+        keyMap.put("currentNum", postQueryRequest.getCurrentNum());
+        keyMap.put("pageSize", postQueryRequest.getPageSize());
+        keyMap.put("facets", CollUtil.isEmpty(postQueryRequest.getFacets()) ? null
+                : new TreeSet<>(postQueryRequest.getFacets()));
+        return JSONUtil.toJsonStr(keyMap);
+    }
+
+    /**
+     * 为查询添加 terms 聚合，聚合结果已缓存时不添加
+     *
+     * @param nativeQueryBuilder 查询构建器
+     * @param facetContext       聚合统计上下文
+     */
+    private void addFacetAggregations(NativeQueryBuilder nativeQueryBuilder, FacetContext facetContext) {
+        if (facetContext == null || facetContext.cachedFacets() != null) {
+            return;
+        }
+        int facetSize = postSearchConfig.getFacetSize();
+        facetContext.facetFields().forEach(field -> nativeQueryBuilder.withAggregation(field,
+                Aggregation.of(a -> a.terms(t -> t.field(field).size(facetSize)))));
+    }
+
+    /**
+     * 获取聚合结果：优先使用缓存，否则从搜索结果中解析并写入缓存
+     *
+     * @param searchHits   搜索结果
+     * @param facetContext 聚合统计上下文
+     * @return 聚合字段 -> 统计项，未请求聚合时返回 null
+     */
+    private Map<String, List<FacetVO>> resolveFacets(SearchHits<PostEsDTO> searchHits, FacetContext facetContext) {
+        if (facetContext == null) {
+            return null;
+        }
+        if (facetContext.cachedFacets() != null) {
+            return facetContext.cachedFacets();
+        }
+        Map<String, List<FacetVO>> facets = new LinkedHashMap<>();
+        Map<String, ElasticsearchAggregation> aggregationMap = searchHits.getAggregations() == null
+                ? Collections.emptyMap()
+                : ((ElasticsearchAggregations) searchHits.getAggregations()).aggregationsAsMap();
+        for (String field : facetContext.facetFields()) {
+            List<FacetVO> facetVOList = new ArrayList<>();
+            ElasticsearchAggregation aggregation = aggregationMap.get(field);
+            if (aggregation != null) {
+                Aggregate aggregate = aggregation.aggregation().getAggregate();
+                if (aggregate.isSterms()) {
+                    aggregate.sterms().buckets().array().forEach(bucket ->
+                            facetVOList.add(new FacetVO(bucket.key().stringValue(), bucket.docCount())));
+                } else if (aggregate.isLterms()) {
+                    // 旧索引中 userId 为数值类型
+                    aggregate.lterms().buckets().array().forEach(bucket ->
+                            facetVOList.add(new FacetVO(String.valueOf(bucket.key()), bucket.docCount())));
+                }
+            }
+            facets.put(field, facetVOList);
+        }
+        postFacetCacheManager.put(facetContext.cacheKey(), facets);
+        return facets;
+    }
+
+    /**
+     * 直接将搜索结果转换为帖子，不查询数据库
+     *
+     * @param searchHits 搜索结果
+     * @return 帖子列表
+     */
+    private List<Post> toPostList(SearchHits<PostEsDTO> searchHits) {
+        return searchHits.getSearchHits().stream()
+                .map(searchHit -> PostEsDTO.dtoToObj(searchHit.getContent()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 根据搜索结果从数据库批量获取最新数据，保持搜索结果的顺序
+     *
+     * @param searchHits 搜索结果
+     * @return 帖子列表
+     */
+    private List<Post> loadSearchHits(SearchHits<PostEsDTO> searchHits) {
+        return loadPosts(searchHits.getSearchHits().stream()
+                .map(searchHit -> searchHit.getContent().getId())
+                .toList());
+    }
+
+    /**
+     * 按帖子 ID 列表从数据库批量获取最新数据，保持列表的顺序
+     * 数据库中已不存在的帖子交给索引修复队列异步清除
+     *
+     * @param postIdList 帖子 ID 列表
+     * @return 帖子列表
+     */
+    private List<Post> loadPosts(List<Long> postIdList) {
+        List<Post> resourceList = new ArrayList<>();
 
+        // 查出结果后，从数据库获取动态数据（如点赞数）
+        if (CollUtil.isNotEmpty(postIdList)) {
             // 批量从数据库查询最新数据
             List<Post> postList = baseMapper.selectBatchIds(postIdList);
             if (postList != null) {
@@ -231,29 +596,98 @@ public class PostServiceImpl extends ServiceImpl<PostMapper, Post> implements Po
                         .collect(Collectors.groupingBy(Post::getId));
 
                 // 遍历查询结果，合并 ES 和数据库的数据
+                List<Long> orphanPostIdList = new ArrayList<>();
                 postIdList.forEach(postId -> {
                     if (idPostMap.containsKey(postId)) {
                         resourceList.add(idPostMap.get(postId).get(0)); // 添加最新数据
                     } else {
-                        // 清除已被物理删除的数据
-                        String delete = elasticsearchOperations.delete(String.valueOf(postId), PostEsDTO.class);
-                        log.info("delete post {}", delete);
+                        orphanPostIdList.add(postId);
                     }
                 });
+                // 数据库中已不存在的数据交给索引修复队列异步清除，不阻塞搜索请求
+                postIndexRepairManager.submitOrphans(orphanPostIdList);
             }
         }
 
-        page.setRecords(resourceList); // 设置分页记录
-        return page; // 返回分页结果
+        return resourceList;
     }
 
     @Override
     public PostVO getPostVO(Post post, HttpServletRequest request) {
+        PostVO postVO = buildPostVO(post);
+        postCounterAggregator.overlay(postVO);
+        fillLoginUserState(postVO, request);
+        return postVO; // 返回封装的 PostVO
+    }
+
+    @Override
+    public PostVO getPostVOById(long id, HttpServletRequest request) {
+        // 帖子和作者信息走缓存，点赞、收藏状态实时查询
+        PostVO postVO = postCacheManager.get(id, postId -> buildPostVO(this.getById(postId)));
+        if (postVO == null) {
+            return null;
+        }
+        // 缓存中的点赞数、收藏数不含尚未写回的增量，读取时叠加
+        postCounterAggregator.overlay(postVO);
+        fillLoginUserState(postVO, request);
+        return postVO;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public boolean save(Post post) {
+        boolean result = super.save(post);
+        if (result) {
+            if (post.getTags() != null) {
+                postTagService.syncPostTags(post.getId(), JSONUtil.toList(post.getTags(), String.class));
+            }
+            // 与帖子在同一事务中记录变更，由中继同步到 ES
+            postOutboxManager.record(post.getId());
+        }
+        return result;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public boolean updateById(Post post) {
+        boolean result = super.updateById(post);
+        if (result && post.getId() != null) {
+            if (post.getTags() != null) {
+                postTagService.syncPostTags(post.getId(), JSONUtil.toList(post.getTags(), String.class));
+            }
+            postOutboxManager.record(post.getId());
+            postCacheManager.evictAfterCommit(post.getId());
+        }
+        return result;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public boolean removeById(Serializable id) {
+        boolean result = super.removeById(id);
+        if (result) {
+            long postId = Long.parseLong(String.valueOf(id));
+            postTagService.removePostTags(postId);
+            postOutboxManager.record(postId);
+            postCacheManager.evictAfterCommit(postId);
+        }
+        return result;
+    }
+
+    /**
+     * 构造与登录用户无关的帖子封装（帖子 + 作者信息）
+     *
+     * @param post 帖子对象
+     * @return 帖子视图对象，帖子为空时返回 null
+     */
+    private PostVO buildPostVO(Post post) {
+        if (post == null) {
+            return null;
+        }
         // 将 Post 转换为 PostVO（DTO -> VO）
         PostVO postVO = PostVO.objToVo(post);
-        long postId = post.getId();
 
-        // 1. 关联用户信息
+        // 关联用户信息
         Long userId = post.getUserId();
         User user = null;
         if (userId != null && userId > 0) {
@@ -263,70 +697,73 @@ public class PostServiceImpl extends ServiceImpl<PostMapper, Post> implements Po
         // 将用户信息封装为 UserVO
         UserVO userVO = userService.getUserVO(user);
         postVO.setUser(userVO);
+        return postVO;
+    }
 
-        // 2. 检查当前是否已登录
+    /**
+     * 填充当前登录用户对帖子的点赞、收藏状态
+     *
+     * @param postVO 帖子视图对象
+     * @param request HTTP 请求对象
+     */
+    private void fillLoginUserState(PostVO postVO, HttpServletRequest request) {
+        long postId = postVO.getId();
+        // 检查当前是否已登录
         User loginUser = userService.getLoginUserPermitNull(request);
         if (loginUser != null) {
-            // 获取用户是否点赞了该帖子
-            QueryWrapper<PostLike> postLikeQueryWrapper = new QueryWrapper<>();
-            postLikeQueryWrapper.in("postId", postId); // 过滤条件：帖子 ID
-            postLikeQueryWrapper.eq("userId", loginUser.getId()); // 过滤条件：用户 ID
-            PostLike postLike = postLikeMapper.selectOne(postLikeQueryWrapper);
-            postVO.setHasLike(postLike != null); // 设置是否点赞
-
-            // 获取用户是否收藏了该帖子
-            QueryWrapper<PostCollection> postCollectionQueryWrapper = new QueryWrapper<>();
-            postCollectionQueryWrapper.in("postId", postId); // 过滤条件：帖子 ID
-            postCollectionQueryWrapper.eq("userId", loginUser.getId()); // 过滤条件：用户 ID
-            PostCollection postCollection = postCollectionMapper.selectOne(postCollectionQueryWrapper);
-            postVO.setHasCollect(postCollection != null); // 设置是否收藏
+            // 从用户点赞、收藏集合中判断状态
+            long userId = loginUser.getId();
+            postVO.setHasLike(postMembershipManager.listLikedPostIds(userId, List.of(postId)).contains(postId));
+            postVO.setHasCollect(postMembershipManager.listCollectedPostIds(userId, List.of(postId)).contains(postId));
         }
-        return postVO; // 返回封装的 PostVO
     }
 
     @Override
     public Page<PostVO> getPostVOPage(Page<Post> postPage, HttpServletRequest request) {
         // 获取当前页的 Post 列表
         List<Post> postList = postPage.getRecords();
-        // 初始化返回的 PostVO 分页对象
-        Page<PostVO> postVOPage = new Page<>(postPage.getCurrent(), postPage.getSize(), postPage.getTotal());
+        // 初始化返回的 PostVO 分页对象（游标分页时附带下一页游标：ES 搜索已生成游标，数据库查询按最后一条记录生成）
+        FacetPage<PostVO> postVOPage = postPage instanceof CursorPage<Post> cursorPage
+                ? new CursorPage<>(postPage.getSize(), cursorPage.getNextCursor() != null
+                        ? cursorPage.getNextCursor() : getNextCursor(postPage))
+                : new FacetPage<>(postPage.getCurrent(), postPage.getSize(), postPage.getTotal());
+        if (postPage instanceof FacetPage<Post> facetPage) {
+            postVOPage.setFacets(facetPage.getFacets());
+        }
 
         if (CollUtil.isEmpty(postList)) {
             return postVOPage; // 如果没有帖子，直接返回空分页
         }
 
-        // 1. 批量查询关联的用户信息
-        Set<Long> userIdSet = postList.stream().map(Post::getUserId).collect(Collectors.toSet());
-        Map<Long, List<User>> userIdUserListMap = userService.listByIds(userIdSet) // 根据用户 ID 批量查询用户信息
-                .stream()
-                .collect(Collectors.groupingBy(User::getId)); // 按用户 ID 分组
-
-        // 2. 检查当前是否已登录，并获取点赞、收藏状态
-        Map<Long, Boolean> postIdHasLikeMap = new HashMap<>();
-        Map<Long, Boolean> postIdHasCollectMap = new HashMap<>();
+        // 作者、点赞、收藏三类查询互不依赖，并发执行，整体受同一截止时间约束
+        long deadline = enrichExecutor.deadline();
         User loginUser = userService.getLoginUserPermitNull(request);
-        if (loginUser != null) {
-            Set<Long> postIdSet = postList.stream().map(Post::getId).collect(Collectors.toSet());
-            loginUser = userService.getLoginUser(request);
-
-            // 批量查询用户对所有帖子是否点赞
-            QueryWrapper<PostLike> postLikeQueryWrapper = new QueryWrapper<>();
-            postLikeQueryWrapper.in("postId", postIdSet); // 过滤条件：帖子 ID
-            postLikeQueryWrapper.eq("userId", loginUser.getId()); // 过滤条件：用户 ID
-            List<PostLike> postLikeList = postLikeMapper.selectList(postLikeQueryWrapper);
-            postLikeList.forEach(postLike -> postIdHasLikeMap.put(postLike.getPostId(), true)); // 标记为已点赞
+        Long loginUserId = loginUser == null ? null : loginUser.getId();
+        Set<Long> postIdSet = postList.stream().map(Post::getId).collect(Collectors.toSet());
 
-            // 批量查询用户对所有帖子是否收藏
-            QueryWrapper<PostCollection> postCollectionQueryWrapper = new QueryWrapper<>();
-            postCollectionQueryWrapper.in("postId", postIdSet); // 过滤条件：帖子 ID
-            postCollectionQueryWrapper.eq("userId", loginUser.getId()); // 过滤条件：用户 ID
-            List<PostCollection> postCollectionList = postCollectionMapper.selectList(postCollectionQueryWrapper);
-            postCollectionList.forEach(postCollection -> postIdHasCollectMap.put(postCollection.getPostId(), true)); // 标记为已收藏
-        }
+        // 1. 批量查询关联的用户信息
+        Set<Long> userIdSet = postList.stream().map(Post::getUserId).collect(Collectors.toSet());
+        CompletableFuture<Map<Long, List<User>>> userFuture = enrichExecutor.submit(() ->
+                userService.listByIds(userIdSet) // 根据用户 ID 批量查询用户信息
+                        .stream()
+                        .collect(Collectors.groupingBy(User::getId)), deadline); // 按用户 ID 分组
+
+        // 2. 如果已登录，从用户点赞、收藏集合中批量判断状态
+        CompletableFuture<Set<Long>> likeFuture = loginUserId == null
+                ? CompletableFuture.completedFuture(Collections.emptySet())
+                : enrichExecutor.submit(() -> postMembershipManager.listLikedPostIds(loginUserId, postIdSet), deadline);
+        CompletableFuture<Set<Long>> collectFuture = loginUserId == null
+                ? CompletableFuture.completedFuture(Collections.emptySet())
+                : enrichExecutor.submit(() -> postMembershipManager.listCollectedPostIds(loginUserId, postIdSet), deadline);
+
+        Map<Long, List<User>> userIdUserListMap = enrichExecutor.join(userFuture, deadline);
+        Set<Long> likedPostIdSet = enrichExecutor.join(likeFuture, deadline);
+        Set<Long> collectedPostIdSet = enrichExecutor.join(collectFuture, deadline);
 
         // 3. 填充信息，转换为 PostVO
         List<PostVO> postVOList = postList.stream().map(post -> {
             PostVO postVO = PostVO.objToVo(post); // 转换为 PostVO
+            postCounterAggregator.overlay(postVO); // 叠加尚未写回的点赞数、收藏数增量
             Long userId = post.getUserId();
             User user = null;
 
@@ -337,12 +774,37 @@ public class PostServiceImpl extends ServiceImpl<PostMapper, Post> implements Po
             postVO.setUser(userService.getUserVO(user));
 
             // 设置点赞和收藏状态
-            postVO.setHasLike(postIdHasLikeMap.getOrDefault(post.getId(), false));
-            postVO.setHasCollect(postIdHasCollectMap.getOrDefault(post.getId(), false));
+            postVO.setHasLike(likedPostIdSet.contains(post.getId()));
+            postVO.setHasCollect(collectedPostIdSet.contains(post.getId()));
             return postVO;
         }).toList();
 
         postVOPage.setRecords(postVOList); // 设置分页记录
         return postVOPage; // 返回封装的分页对象
     }
+
+    /**
+     * 根据当前页最后一条记录生成下一页游标
+     *
+     * @param postPage 帖子分页对象
+     * @return 下一页游标，没有更多数据时返回 null
+     */
+    private String getNextCursor(Page<Post> postPage) {
+        List<Post> postList = postPage.getRecords();
+        if (CollUtil.isEmpty(postList) || postList.size() < postPage.getSize()) {
+            return null;
+        }
+        Post lastPost = postList.get(postList.size() - 1);
+        return CursorUtils.encode(lastPost.getCreateTime().getTime(), lastPost.getId());
+    }
+
+    /**
+     * 聚合统计上下文
+     *
+     * @param facetFields  聚合字段
+     * @param cacheKey     聚合结果缓存键
+     * @param cachedFacets 已缓存的聚合结果，未命中时为 null
+     */
+    private record FacetContext(List<String> facetFields, String cacheKey, Map<String, List<FacetVO>> cachedFacets) {
+    }
 }
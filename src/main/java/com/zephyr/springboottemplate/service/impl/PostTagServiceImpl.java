@@ -0,0 +1,162 @@
+package com.zephyr.springboottemplate.service.impl;
+
+import cn.hutool.core.collection.CollUtil;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.zephyr.springboottemplate.config.TagIndexConfig;
+import com.zephyr.springboottemplate.manager.HotTagIndexManager;
+import com.zephyr.springboottemplate.mapper.PostTagMapper;
+import com.zephyr.springboottemplate.model.entity.Post;
+import com.zephyr.springboottemplate.model.entity.PostTag;
+import com.zephyr.springboottemplate.service.PostTagService;
+import com.zephyr.springboottemplate.service.TagService;
+import jakarta.annotation.Resource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * 帖子标签服务实现类
+ * 维护 post_tag 标签倒排索引，替代对 tags JSON 字符串的 LIKE 全表扫描
+ */
+@Service
+public class PostTagServiceImpl extends ServiceImpl<PostTagMapper, PostTag> implements PostTagService {
+
+    @Resource
+    private TagService tagService;
+
+    @Resource
+    private HotTagIndexManager hotTagIndexManager;
+
+    @Resource
+    private TagIndexConfig tagIndexConfig;
+
+    @Override
+    public void syncPostTags(long postId, List<String> tagList) {
+        // 1. 规范化标签：去除首尾空白、转小写、去空、去重
+        Set<String> tagNameSet = normalize(tagList);
+
+        // 2. 计算需要新增、删除的标签关联
+        Set<Long> targetTagIdSet = new HashSet<>(tagService.getOrCreateTagIds(tagNameSet).values());
+        Set<Long> currentTagIdSet = listTagIds(postId);
+        Set<Long> removedTagIdSet = new HashSet<>(currentTagIdSet);
+        removedTagIdSet.removeAll(targetTagIdSet);
+        Set<Long> addedTagIdSet = new HashSet<>(targetTagIdSet);
+        addedTagIdSet.removeAll(currentTagIdSet);
+        if (removedTagIdSet.isEmpty() && addedTagIdSet.isEmpty()) {
+            return;
+        }
+
+        // 3. 更新索引表
+        if (!removedTagIdSet.isEmpty()) {
+            this.remove(new QueryWrapper<PostTag>().eq("postId", postId).in("tagId", removedTagIdSet));
+        }
+        if (!addedTagIdSet.isEmpty()) {
+            List<PostTag> postTagList = addedTagIdSet.stream().map(tagId -> {
+                PostTag postTag = new PostTag();
+                postTag.setPostId(postId);
+                postTag.setTagId(tagId);
+                return postTag;
+            }).toList();
+            this.saveBatch(postTagList);
+        }
+
+        // 4. 同步热门标签索引（有事务时在提交后同步，避免回滚后索引不一致）
+        afterCommit(() -> hotTagIndexManager.onPostTagsChanged(postId, removedTagIdSet, addedTagIdSet));
+    }
+
+    @Override
+    public void removePostTags(long postId) {
+        Set<Long> currentTagIdSet = listTagIds(postId);
+        if (currentTagIdSet.isEmpty()) {
+            return;
+        }
+        this.remove(new QueryWrapper<PostTag>().eq("postId", postId));
+        afterCommit(() -> hotTagIndexManager.onPostTagsChanged(postId, currentTagIdSet, Collections.emptySet()));
+    }
+
+    @Override
+    public void applyTagFilter(QueryWrapper<Post> queryWrapper, List<String> tags, List<String> orTags) {
+        Set<String> andTagNameSet = normalize(tags);
+        Set<String> orTagNameSet = normalize(orTags);
+        if (andTagNameSet.isEmpty() && orTagNameSet.isEmpty()) {
+            return;
+        }
+        Set<String> allTagNameSet = new HashSet<>(andTagNameSet);
+        allTagNameSet.addAll(orTagNameSet);
+        Map<String, Long> tagIdMap = tagService.getTagIds(allTagNameSet);
+
+        // 1. 必须包含的标签中有不存在的标签，或可选标签全部不存在，则不可能有结果
+        List<Long> andTagIdList = new ArrayList<>();
+        for (String tagName : andTagNameSet) {
+            Long tagId = tagIdMap.get(tagName);
+            if (tagId == null) {
+                queryWrapper.apply("1 = 0");
+                return;
+            }
+            andTagIdList.add(tagId);
+        }
+        List<Long> orTagIdList = orTagNameSet.stream().map(tagIdMap::get).filter(Objects::nonNull).toList();
+        if (!orTagNameSet.isEmpty() && orTagIdList.isEmpty()) {
+            queryWrapper.apply("1 = 0");
+            return;
+        }
+
+        // 2. 全部为热门标签且结果较少时，直接用进程内索引求出帖子 ID
+        long[] postIds = hotTagIndexManager.match(andTagIdList, orTagIdList);
+        if (postIds != null && postIds.length <= tagIndexConfig.getMaxInlinePostIds()) {
+            if (postIds.length == 0) {
+                queryWrapper.apply("1 = 0");
+            } else {
+                queryWrapper.in("id", Arrays.stream(postIds).boxed().toList());
+            }
+            return;
+        }
+
+        // 3. 否则使用 post_tag 索引半连接过滤
+        for (Long tagId : andTagIdList) {
+            queryWrapper.apply("id IN (SELECT postId FROM post_tag WHERE tagId = {0})", tagId);
+        }
+        if (!orTagIdList.isEmpty()) {
+            String tagIds = orTagIdList.stream().map(String::valueOf).collect(Collectors.joining(","));
+            queryWrapper.inSql("id", "SELECT postId FROM post_tag WHERE tagId IN (" + tagIds + ")");
+        }
+    }
+
+    private Set<Long> listTagIds(long postId) {
+        return this.list(new QueryWrapper<PostTag>().select("tagId").eq("postId", postId))
+                .stream()
+                .map(PostTag::getTagId)
+                .collect(Collectors.toSet());
+    }
+
+    private static Set<String> normalize(List<String> tagList) {
+        Set<String> tagNameSet = new LinkedHashSet<>();
+        if (CollUtil.isEmpty(tagList)) {
+            return tagNameSet;
+        }
+        for (String tag : tagList) {
+            String tagName = TagService.normalizeTagName(tag);
+            if (!tagName.isEmpty()) {
+                tagNameSet.add(tagName);
+            }
+        }
+        return tagNameSet;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
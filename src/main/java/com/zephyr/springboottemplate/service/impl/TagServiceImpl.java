@@ -0,0 +1,133 @@
+package com.zephyr.springboottemplate.service.impl;
+
+import cn.hutool.cache.CacheUtil;
+import cn.hutool.cache.impl.LRUCache;
+import cn.hutool.core.collection.CollUtil;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.zephyr.springboottemplate.config.TagIndexConfig;
+import com.zephyr.springboottemplate.mapper.TagMapper;
+import com.zephyr.springboottemplate.model.entity.Tag;
+import com.zephyr.springboottemplate.service.TagService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+
+/**
+ * 标签服务实现类
+ * 标签名与 ID 的映射不会变化，因此缓存在进程内，不设过期时间
+ * 在事务内调用时，映射在事务提交后才写入缓存，避免事务回滚后缓存不存在的标签 ID
+ */
+@Service
+@Slf4j
+public class TagServiceImpl extends ServiceImpl<TagMapper, Tag> implements TagService {
+
+    @Resource
+    private TagIndexConfig tagIndexConfig;
+
+    /**
+     * 标签名 -> 标签 ID
+     */
+    private LRUCache<String, Long> tagIdCache;
+
+    @PostConstruct
+    public void init() {
+        tagIdCache = CacheUtil.newLRUCache(tagIndexConfig.getDictionaryMaxSize());
+    }
+
+    @Override
+    public Map<String, Long> getTagIds(Collection<String> tagNames) {
+        Map<String, Long> tagIdMap = new HashMap<>();
+        if (CollUtil.isEmpty(tagNames)) {
+            return tagIdMap;
+        }
+
+        // 1. 先查缓存
+        Set<String> missingTagNames = new HashSet<>();
+        for (String tagName : normalizeTagNames(tagNames)) {
+            Long tagId = tagIdCache.get(tagName);
+            if (tagId != null) {
+                tagIdMap.put(tagName, tagId);
+            } else {
+                missingTagNames.add(tagName);
+            }
+        }
+
+        // 2. 未命中的批量查库并回填
+        if (!missingTagNames.isEmpty()) {
+            QueryWrapper<Tag> queryWrapper = new QueryWrapper<>();
+            queryWrapper.in("tagName", missingTagNames);
+            Map<String, Long> loadedTagIdMap = new HashMap<>();
+            for (Tag tag : this.list(queryWrapper)) {
+                // 历史数据可能以非小写形式存储，按规范化名称回填
+                loadedTagIdMap.put(TagService.normalizeTagName(tag.getTagName()), tag.getId());
+            }
+            tagIdMap.putAll(loadedTagIdMap);
+            cacheAfterCommit(loadedTagIdMap);
+        }
+        return tagIdMap;
+    }
+
+    @Override
+    public Map<String, Long> getOrCreateTagIds(Collection<String> tagNames) {
+        Map<String, Long> tagIdMap = getTagIds(tagNames);
+        Map<String, Long> createdTagIdMap = new HashMap<>();
+        for (String tagName : normalizeTagNames(tagNames)) {
+            if (tagIdMap.containsKey(tagName)) {
+                continue;
+            }
+            Tag tag = new Tag();
+            tag.setTagName(tagName);
+            try {
+                this.save(tag);
+            } catch (DuplicateKeyException e) {
+                // 并发创建同名标签，以已存在的为准
+                // 须使用加锁读：可重复读隔离级别下普通查询读取的是事务快照，看不到其他事务刚提交的标签
+                tag = this.getOne(new QueryWrapper<Tag>().eq("tagName", tagName).last("for update"));
+            }
+            createdTagIdMap.put(tagName, tag.getId());
+        }
+        tagIdMap.putAll(createdTagIdMap);
+        cacheAfterCommit(createdTagIdMap);
+        return tagIdMap;
+    }
+
+    /**
+     * 规范化标签名并去除空标签、重复标签
+     */
+    private static Set<String> normalizeTagNames(Collection<String> tagNames) {
+        Set<String> tagNameSet = new LinkedHashSet<>();
+        for (String tagName : tagNames) {
+            String normalized = TagService.normalizeTagName(tagName);
+            if (!normalized.isEmpty()) {
+                tagNameSet.add(normalized);
+            }
+        }
+        return tagNameSet;
+    }
+
+    /**
+     * 将标签映射写入缓存，存在事务时在提交后写入
+     */
+    private void cacheAfterCommit(Map<String, Long> tagIdMap) {
+        if (tagIdMap.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            tagIdMap.forEach(tagIdCache::put);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                tagIdMap.forEach(tagIdCache::put);
+            }
+        });
+    }
+}
@@ -4,15 +4,18 @@ import cn.hutool.core.collection.CollUtil;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.zephyr.springboottemplate.common.ErrorCode;
-import com.zephyr.springboottemplate.constant.SortConstant;
+import com.zephyr.springboottemplate.manager.UserCacheManager;
+import com.zephyr.springboottemplate.manager.lock.KeyLockManager;
 import com.zephyr.springboottemplate.mapper.UserMapper;
 import com.zephyr.springboottemplate.model.dto.user.UserQueryRequest;
+import com.zephyr.springboottemplate.model.dto.user.UserPrincipal;
 import com.zephyr.springboottemplate.model.entity.User;
 import com.zephyr.springboottemplate.model.enums.UserRoleEnum;
 import com.zephyr.springboottemplate.model.vo.LoginUserVO;
 import com.zephyr.springboottemplate.model.vo.UserVO;
 import com.zephyr.springboottemplate.service.UserService;
 import com.zephyr.springboottemplate.utils.SqlUtils;
+import jakarta.annotation.Resource;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import me.chanjar.weixin.common.bean.WxOAuth2UserInfo;
@@ -23,6 +26,7 @@ import org.springframework.beans.BeanUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.util.DigestUtils;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -36,6 +40,15 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
     // 密码加密的盐值
     public static final String SALT = "zephyr";
 
+    // 请求属性键，用于在同一请求内复用已解析的登录用户
+    private static final String LOGIN_USER_ATTRIBUTE = UserServiceImpl.class.getName() + ".LOGIN_USER";
+
+    @Resource
+    private UserCacheManager userCacheManager;
+
+    @Resource
+    private KeyLockManager keyLockManager;
+
     @Override
     public long userRegister(String userAccount, String userPassword, String checkPassword) {
         // 1. 参数校验
@@ -54,8 +67,8 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
             throw new BusinessException(ErrorCode.PARAMS_ERROR, "两次输入的密码不一致");
         }
 
-        // 同步锁， 防止并发注册同一账号
-        synchronized (userAccount.intern()) {
+        // 按账号加锁，防止并发注册同一账号
+        return keyLockManager.executeWithLock("user_register", userAccount, () -> {
             // 2. 检查账号是否已存在
             QueryWrapper<User> queryWrapper = new QueryWrapper<>();
             queryWrapper.eq("userAccount", userAccount);
@@ -76,7 +89,7 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
                 throw new BusinessException(ErrorCode.SYSTEM_ERROR, "用户注册失败，数据库错误");
             }
             return user.getId();
-        }
+        });
     }
 
     @Override
@@ -120,8 +133,8 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         String unionId = wxOAuth2UserInfo.getUnionId();
         String mpOpenId = wxOAuth2UserInfo.getOpenid();
 
-        // 同步锁，防止并发登录或注册同一用户
-        synchronized (unionId.intern()) {
+        // 按 unionId 加锁，防止并发登录或注册同一用户
+        return keyLockManager.executeWithLock("user_mp_login", unionId, () -> {
             // 2. 查询用户是否已存在
             QueryWrapper<User> queryWrapper = new QueryWrapper<>();
             queryWrapper.eq("unionId", unionId);
@@ -150,51 +163,93 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
 
             // 6. 返回用户的登录视图对象
             return this.getLoginUserVO(user);
-        }
+        });
     }
 
     @Override
     public User getLoginUser(HttpServletRequest request) {
-        // 1. 从 Session 中获取当前用户
-        Object userObj = request.getSession().getAttribute(USER_LOGIN_STATE);
-        User currentUser = (User) userObj;
+        // 1. 解析当前登录用户
+        User currentUser = this.getLoginUserPermitNull(request);
 
-        // 2. 如果用户未登录，抛出未登录异常
+        // 2. 如果用户未登录或已不存在，抛出未登录异常
         if (currentUser == null) {
             throw new BusinessException(ErrorCode.NOT_LOGIN_ERROR);
         }
 
-        // 3. 验证用户是否存在于数据库
-        long userId = currentUser.getId();
-        currentUser = this.getById(userId);
-        if (currentUser == null) {
-            throw new BusinessException(ErrorCode.NOT_LOGIN_ERROR);
-        }
-
-        // 4. 返回当前用户信息
+        // 3. 返回当前用户信息
         return currentUser;
     }
 
     @Override
     public User getLoginUserPermitNull(HttpServletRequest request) {
-        // 1. 从 Session 中获取当前用户
+        // 1. 同一请求内直接复用已解析的用户
+        Object resolvedUser = request.getAttribute(LOGIN_USER_ATTRIBUTE);
+        if (resolvedUser != null) {
+            return (User) resolvedUser;
+        }
+
+        // 2. 从 Session 中获取当前用户
         Object userObj = request.getSession().getAttribute(USER_LOGIN_STATE);
         User currentUser = (User) userObj;
 
-        // 2. 如果用户未登录或 ID 为空，返回 null
+        // 3. 如果用户未登录或 ID 为空，返回 null
         if (currentUser == null || currentUser.getId() == null) {
             return null;
         }
 
-        // 3. 返回数据库中的用户信息
-        return this.getById(currentUser.getId());
+        // 4. 从短时缓存（未命中则查库）获取最新用户信息，保证角色变更、封禁在有限时间内生效
+        currentUser = userCacheManager.get(currentUser.getId(), this::getById);
+        if (currentUser != null) {
+            request.setAttribute(LOGIN_USER_ATTRIBUTE, currentUser);
+        }
+        return currentUser;
+    }
+
+    @Override
+    public UserPrincipal getLoginPrincipal(HttpServletRequest request) {
+        // 1. 同一请求内已解析过完整用户时直接复用
+        Object resolvedUser = request.getAttribute(LOGIN_USER_ATTRIBUTE);
+        if (resolvedUser != null) {
+            return UserPrincipal.of((User) resolvedUser);
+        }
+
+        // 2. 从 Session 中获取当前用户 ID
+        User sessionUser = (User) request.getSession().getAttribute(USER_LOGIN_STATE);
+        if (sessionUser == null || sessionUser.getId() == null) {
+            throw new BusinessException(ErrorCode.NOT_LOGIN_ERROR);
+        }
+
+        // 3. 从身份缓存（未命中则查库）获取最新角色，保证角色变更、封禁在有限时间内生效
+        UserPrincipal principal = userCacheManager.getPrincipal(sessionUser.getId(), this::getById);
+        if (principal == null) {
+            throw new BusinessException(ErrorCode.NOT_LOGIN_ERROR);
+        }
+        return principal;
+    }
+
+    @Override
+    public boolean updateById(User user) {
+        boolean result = super.updateById(user);
+        if (result && user.getId() != null) {
+            // 用户信息、角色变更（包括封禁）后立即失效缓存
+            userCacheManager.evict(user.getId());
+        }
+        return result;
+    }
+
+    @Override
+    public boolean removeById(Serializable id) {
+        boolean result = super.removeById(id);
+        if (result) {
+            userCacheManager.evict(Long.parseLong(String.valueOf(id)));
+        }
+        return result;
     }
 
     @Override
     public boolean isAdmin(HttpServletRequest request) {
-        // 1. 从 Session 中获取当前用户
-        Object userObj = request.getSession().getAttribute(USER_LOGIN_STATE);
-        User user = (User) userObj;
+        // 1. 获取当前用户（Session 中的用户角色可能已过期，需使用最新用户信息）
+        User user = this.getLoginUserPermitNull(request);
 
         // 2. 判断用户是否为管理员
         return isAdmin(user);
@@ -274,7 +329,7 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         // 3. 添加排序条件
         queryWrapper.orderBy(
                 SqlUtils.validSortField(userQueryRequest.getSortField()),
-                SortConstant.SORT_ORDER_ASC.equals(userQueryRequest.getSortOrder()),
+                userQueryRequest.isAsc(true),
                 userQueryRequest.getSortField()
         );
 
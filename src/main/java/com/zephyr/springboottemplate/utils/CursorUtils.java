@@ -0,0 +1,99 @@
+package com.zephyr.springboottemplate.utils;
+
+import cn.hutool.core.lang.Pair;
+import cn.hutool.json.JSONArray;
+import cn.hutool.json.JSONObject;
+import cn.hutool.json.JSONUtil;
+import com.zephyr.springboottemplate.common.ErrorCode;
+import com.zephyr.springboottemplate.exception.BusinessException;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * 游标工具
+ * <p>
+ * 将 (排序字段值, id) 编码为对客户端不透明的游标字符串，用于游标（keyset）分页；
+ * 将 (point-in-time ID, search_after 排序值) 编码为搜索游标，用于 Elasticsearch 深分页。
+ */
+public class CursorUtils {
+
+    /**
+     * 编码游标
+     *
+     * @param sortValue 排序字段值（时间类型使用毫秒时间戳）
+     * @param id        记录 ID，作为排序字段相同时的决胜字段
+     * @return 游标字符串
+     */
+    public static String encode(long sortValue, long id) {
+        String raw = sortValue + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解码游标
+     *
+     * @param cursor 游标字符串
+     * @return 长度为 2 的数组：[排序字段值, id]
+     * @throws BusinessException 游标不合法时抛出参数错误
+     */
+    public static long[] decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            return new long[]{Long.parseLong(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1))};
+        } catch (RuntimeException e) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "游标不合法");
+        }
+    }
+
+    /**
+     * 编码搜索游标
+     *
+     * @param pitId      point-in-time ID
+     * @param sortValues 当前页最后一条结果的排序值，作为下一页的 search_after
+     * @return 游标字符串
+     */
+    public static String encodeSearch(String pitId, List<Object> sortValues) {
+        JSONObject json = new JSONObject();
+        json.set("pit", pitId);
+        json.set("after", sortValues);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解码搜索游标
+     *
+     * @param cursor 游标字符串
+     * @return (point-in-time ID, search_after 排序值)
+     * @throws BusinessException 游标不合法时抛出参数错误
+     */
+    public static Pair<String, List<Object>> decodeSearch(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            JSONObject json = JSONUtil.parseObj(raw);
+            String pitId = json.getStr("pit");
+            JSONArray after = json.getJSONArray("after");
+            if (pitId == null || after == null) {
+                throw new IllegalArgumentException();
+            }
+            List<Object> sortValues = new ArrayList<>(after.size());
+            for (Object value : after) {
+                // JSON 数字统一还原为 long / double，与 Elasticsearch 返回的排序值类型一致
+                if (value instanceof BigDecimal decimal) {
+                    sortValues.add(decimal.scale() > 0 ? decimal.doubleValue() : decimal.longValue());
+                } else if (value instanceof Number number) {
+                    sortValues.add(value instanceof Double || value instanceof Float ? number.doubleValue() : number.longValue());
+                } else {
+                    sortValues.add(value);
+                }
+            }
+            return Pair.of(pitId, sortValues);
+        } catch (RuntimeException e) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "游标不合法");
+        }
+    }
+}
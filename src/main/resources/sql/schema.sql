@@ -7,6 +7,10 @@ drop table if exists user;
 drop table if exists post;
 drop table if exists post_like;
 drop table if exists post_collection;
+drop table if exists tag;
+drop table if exists post_tag;
+drop table if exists sync_checkpoint;
+drop table if exists post_outbox;
 
 -- 用户表
 create table if not exists user
@@ -39,7 +43,12 @@ create table if not exists post
     createTime datetime default CURRENT_TIMESTAMP not null comment '创建时间',
     updateTime datetime default CURRENT_TIMESTAMP not null on update CURRENT_TIMESTAMP comment '更新时间',
     isDelete   tinyint  default 0                 not null comment '是否删除',
-    index idx_userId (userId)
+    -- 游标分页：WHERE isDelete = 0 AND (createTime, id) < (?, ?) ORDER BY createTime, id
+    index idx_isDelete_createTime_id (isDelete, createTime, id),
+    -- 按用户查询及游标分页：WHERE userId = ? AND isDelete = 0 AND (createTime, id) < (?, ?)
+    index idx_userId_isDelete_createTime_id (userId, isDelete, createTime, id),
+    -- 增量同步：WHERE (updateTime, id) > (?, ?) ORDER BY updateTime, id
+    index idx_updateTime_id (updateTime, id)
 ) comment '帖子' collate = utf8mb4_unicode_ci;
 
 
@@ -51,8 +60,9 @@ create table if not exists post_like
     userId     bigint                             not null comment '创建用户 id',
     createTime datetime default CURRENT_TIMESTAMP not null comment '创建时间',
     updateTime datetime default CURRENT_TIMESTAMP not null on update CURRENT_TIMESTAMP comment '更新时间',
-    index idx_postId (postId),
-    index idx_userId (userId)
+    -- 点赞 / 收藏切换依赖该唯一键（INSERT IGNORE / 条件 DELETE），同时覆盖按 userId 的查询
+    unique key uk_userId_postId (userId, postId),
+    index idx_postId (postId)
     ) comment '帖子点赞';
 
 -- 帖子收藏表（硬删除）
@@ -63,6 +73,46 @@ create table if not exists post_collection
     userId     bigint                             not null comment '创建用户 id',
     createTime datetime default CURRENT_TIMESTAMP not null comment '创建时间',
     updateTime datetime default CURRENT_TIMESTAMP not null on update CURRENT_TIMESTAMP comment '更新时间',
-    index idx_postId (postId),
-    index idx_userId (userId)
+    -- 点赞 / 收藏切换依赖该唯一键（INSERT IGNORE / 条件 DELETE），同时覆盖按 userId 的查询
+    unique key uk_userId_postId (userId, postId),
+    index idx_postId (postId)
     ) comment '帖子收藏';
+
+-- 标签字典表
+create table if not exists tag
+(
+    id         bigint auto_increment comment 'id' primary key,
+    tagName    varchar(128)                       not null comment '标签名',
+    createTime datetime default CURRENT_TIMESTAMP not null comment '创建时间',
+    unique key uk_tagName (tagName)
+) comment '标签' collate = utf8mb4_unicode_ci;
+
+-- 帖子标签关联表（标签倒排索引，硬删除）
+create table if not exists post_tag
+(
+    id         bigint auto_increment comment 'id' primary key,
+    postId     bigint                             not null comment '帖子 id',
+    tagId      bigint                             not null comment '标签 id',
+    createTime datetime default CURRENT_TIMESTAMP not null comment '创建时间',
+    -- 按标签查帖子：WHERE tagId = ?，覆盖索引直接返回 postId
+    unique key uk_tagId_postId (tagId, postId),
+    -- 按帖子维护标签：WHERE postId = ?
+    index idx_postId (postId)
+) comment '帖子标签';
+
+-- 同步检查点表
+create table if not exists sync_checkpoint
+(
+    name           varchar(128)                       not null comment '同步任务名称' primary key,
+    lastUpdateTime datetime                           not null comment '已同步数据的最大更新时间',
+    lastId         bigint   default 0                 not null comment '更新时间等于 lastUpdateTime 的数据中已同步的最大 id',
+    updateTime     datetime default CURRENT_TIMESTAMP not null on update CURRENT_TIMESTAMP comment '更新时间'
+) comment '同步检查点' collate = utf8mb4_unicode_ci;
+
+-- 帖子变更发件箱表（与帖子变更同一事务写入，同步到 ES 后删除）
+create table if not exists post_outbox
+(
+    id         bigint auto_increment comment 'id' primary key,
+    postId     bigint                             not null comment '帖子 id',
+    createTime datetime default CURRENT_TIMESTAMP not null comment '创建时间'
+) comment '帖子变更发件箱';
@@ -0,0 +1,99 @@
+package com.zephyr.springboottemplate.aop;
+
+import com.zephyr.springboottemplate.model.dto.post.PostQueryRequest;
+import org.apache.commons.lang3.StringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 请求日志单次请求开销基准测试
+ *
+ * <p>
+ * 对比旧实现（SecureRandom UUID + 每次拼接全部参数 + 两条日志）与当前实现（自增请求 ID + 抽样延迟渲染）
+ * 在拦截器内产生的开销，日志输出本身（异步 Appender）不计入。
+ * 手动运行：在 IDE 中执行 main 方法，或 mvn test-compile 后以测试 classpath 运行本类。
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class LogInterceptorBenchmark {
+
+    private static final double PARAM_SAMPLE_RATE = 0.01;
+
+    private Object[] args;
+
+    @Setup
+    public void setUp() {
+        PostQueryRequest postQueryRequest = new PostQueryRequest();
+        postQueryRequest.setSearchText("spring boot 性能优化");
+        postQueryRequest.setTags(List.of("java", "spring", "elasticsearch"));
+        postQueryRequest.setContent(StringUtils.repeat("正文", 2000));
+        MockMultipartFile file = new MockMultipartFile("file", "avatar.png", "image/png", new byte[64 * 1024]);
+        args = new Object[]{postQueryRequest, file, new MockHttpServletRequest()};
+    }
+
+    /**
+     * 旧实现：每个请求生成 UUID 并拼接全部参数，输出开始、结束两条日志
+     */
+    @Benchmark
+    public void legacy(Blackhole blackhole) {
+        String requestId = UUID.randomUUID().toString();
+        String reqParam = "[" + StringUtils.join(args, ", ") + "]";
+        blackhole.consume(requestId);
+        blackhole.consume(reqParam);
+        blackhole.consume(requestId);
+    }
+
+    /**
+     * 当前实现：自增请求 ID，按比例抽样渲染参数（带长度上限），只输出一条日志
+     */
+    @Benchmark
+    public void traced(Blackhole blackhole) {
+        String requestId = LogInterceptor.nextRequestId();
+        Object params = ThreadLocalRandom.current().nextDouble() < PARAM_SAMPLE_RATE
+                ? new RequestLogParams(args, 256, 1024).toString()
+                : "-";
+        blackhole.consume(requestId);
+        blackhole.consume(params);
+    }
+
+    /**
+     * 当前实现中需要输出参数的请求（失败、慢请求或被抽中）
+     */
+    @Benchmark
+    public void tracedWithParams(Blackhole blackhole) {
+        blackhole.consume(LogInterceptor.nextRequestId());
+        blackhole.consume(new RequestLogParams(args, 256, 1024).toString());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(LogInterceptorBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
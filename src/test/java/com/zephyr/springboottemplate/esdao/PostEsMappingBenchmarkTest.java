@@ -0,0 +1,164 @@
+package com.zephyr.springboottemplate.esdao;
+
+import cn.hutool.core.util.RandomUtil;
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.SortOrder;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.elasticsearch._types.query_dsl.QueryBuilders;
+import com.zephyr.springboottemplate.model.dto.post.PostEsDTO;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.IndexOperations;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 帖子索引映射压测
+ *
+ * <p>
+ * 生成同一批帖子，分别写入动态映射索引与显式映射（cjk 分词、keyword 标签、createTime 倒序索引排序）索引，
+ * 对比索引大小与"按标签过滤、按最新排序"、"关键词搜索"两类查询的延迟。
+ * 需连接 Elasticsearch，默认不执行，使用 mvn test -Dtest=PostEsMappingBenchmarkTest -DloadTest=true 手动运行。
+ * </p>
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "loadTest", matches = "true")
+@Slf4j
+class PostEsMappingBenchmarkTest {
+
+    private static final String DYNAMIC_INDEX = "post_bench_dynamic";
+
+    private static final String EXPLICIT_INDEX = "post_bench_explicit";
+
+    private static final int DOCS = 200_000;
+
+    private static final int BATCH_SIZE = 2_000;
+
+    private static final int QUERIES = 500;
+
+    private static final String[] TAGS = {"java", "spring", "mysql", "redis", "elasticsearch", "前端", "后端", "算法", "面试", "生活"};
+
+    private static final String[] WORDS = {"高性能", "数据库", "索引", "缓存", "分布式", "搜索引擎", "微服务", "并发",
+            "java", "spring", "boot", "优化", "实践", "原理", "源码", "设计", "架构", "部署"};
+
+    @Resource
+    private ElasticsearchOperations elasticsearchOperations;
+
+    @Resource
+    private ElasticsearchClient elasticsearchClient;
+
+    @AfterEach
+    void tearDown() {
+        elasticsearchOperations.indexOps(IndexCoordinates.of(DYNAMIC_INDEX)).delete();
+        elasticsearchOperations.indexOps(IndexCoordinates.of(EXPLICIT_INDEX)).delete();
+    }
+
+    @Test
+    void compareMapping() throws Exception {
+        // 1. 准备索引：动态映射索引不预先创建，由首次写入自动生成
+        IndexOperations explicitIndexOps = elasticsearchOperations.indexOps(IndexCoordinates.of(EXPLICIT_INDEX));
+        explicitIndexOps.create(explicitIndexOps.createSettings(PostEsDTO.class), explicitIndexOps.createMapping(PostEsDTO.class));
+
+        // 2. 写入相同的语料
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < DOCS; i += BATCH_SIZE) {
+            List<PostEsDTO> batch = new ArrayList<>(BATCH_SIZE);
+            for (int j = i; j < Math.min(i + BATCH_SIZE, DOCS); j++) {
+                batch.add(randomPost(j + 1, now));
+            }
+            elasticsearchOperations.save(batch, IndexCoordinates.of(DYNAMIC_INDEX));
+            elasticsearchOperations.save(batch, IndexCoordinates.of(EXPLICIT_INDEX));
+        }
+        for (String index : List.of(DYNAMIC_INDEX, EXPLICIT_INDEX)) {
+            elasticsearchClient.indices().refresh(r -> r.index(index));
+            elasticsearchClient.indices().forcemerge(f -> f.index(index).maxNumSegments(1L));
+        }
+
+        // 3. 动态映射中 tags 为 text（中文标签被拆成单字），需查询 tags.keyword 子字段；先确认两个索引的命中数一致
+        for (String tag : TAGS) {
+            long dynamicHits = elasticsearchClient.count(c -> c.index(DYNAMIC_INDEX)
+                    .query(QueryBuilders.term(t -> t.field(tagField(DYNAMIC_INDEX)).value(tag)))).count();
+            long explicitHits = elasticsearchClient.count(c -> c.index(EXPLICIT_INDEX)
+                    .query(QueryBuilders.term(t -> t.field(tagField(EXPLICIT_INDEX)).value(tag)))).count();
+            assertTrue(explicitHits > 0, "no hits for tag " + tag);
+            assertEquals(explicitHits, dynamicHits, "hit count mismatch for tag " + tag);
+        }
+
+        // 4. 对比索引大小与查询延迟
+        for (String index : List.of(DYNAMIC_INDEX, EXPLICIT_INDEX)) {
+            long sizeInBytes = elasticsearchClient.indices().stats(s -> s.index(index))
+                    .indices().get(index).primaries().store().sizeInBytes();
+            String tagField = tagField(index);
+            long[] latestByTag = measure(index, () -> QueryBuilders.term(t -> t.field(tagField).value(RandomUtil.randomEle(TAGS))));
+            long[] keyword = measure(index, () -> QueryBuilders.match(m -> m.field("content").query(RandomUtil.randomEle(WORDS))));
+            log.info("{}: size {} KB, latest by tag p50 {} us / p99 {} us, keyword p50 {} us / p99 {} us",
+                    index, sizeInBytes / 1024, latestByTag[0], latestByTag[1], keyword[0], keyword[1]);
+        }
+    }
+
+    /**
+     * 标签过滤字段：动态映射为 text + keyword 子字段，显式映射为 keyword
+     */
+    private String tagField(String index) {
+        return DYNAMIC_INDEX.equals(index) ? "tags.keyword" : "tags";
+    }
+
+    /**
+     * 执行按最新排序、不统计总数的查询，返回 [p50, p99] 延迟（微秒）
+     */
+    private long[] measure(String index, Supplier<Query> querySupplier) {
+        long[] costs = new long[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            NativeQuery nativeQuery = NativeQuery.builder()
+                    .withQuery(querySupplier.get())
+                    .withSort(s -> s.field(f -> f.field("createTime").order(SortOrder.Desc)))
+                    .withPageable(PageRequest.of(0, 10))
+                    .withTrackTotalHits(false)
+                    .build();
+            long start = System.nanoTime();
+            elasticsearchOperations.search(nativeQuery, PostEsDTO.class, IndexCoordinates.of(index));
+            costs[i] = (System.nanoTime() - start) / 1000;
+        }
+        Arrays.sort(costs);
+        return new long[]{costs[QUERIES / 2], costs[QUERIES * 99 / 100]};
+    }
+
+    private PostEsDTO randomPost(long id, long now) {
+        PostEsDTO postEsDTO = new PostEsDTO();
+        postEsDTO.setId(id);
+        postEsDTO.setTitle(randomText(4));
+        postEsDTO.setContent(randomText(80));
+        postEsDTO.setTags(List.of(RandomUtil.randomEle(TAGS), RandomUtil.randomEle(TAGS)));
+        postEsDTO.setLikeCount(RandomUtil.randomInt(1000));
+        postEsDTO.setCollectCount(RandomUtil.randomInt(1000));
+        postEsDTO.setUserId(RandomUtil.randomLong(1, 10_000));
+        Date createTime = new Date(now - RandomUtil.randomLong(0, 365L * 24 * 3600 * 1000));
+        postEsDTO.setCreateTime(createTime);
+        postEsDTO.setUpdateTime(createTime);
+        postEsDTO.setIsDelete(0);
+        return postEsDTO;
+    }
+
+    private String randomText(int words) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            sb.append(RandomUtil.randomEle(WORDS)).append(' ');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,140 @@
+package com.zephyr.springboottemplate.service;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.zephyr.springboottemplate.model.entity.Post;
+import com.zephyr.springboottemplate.model.entity.PostLike;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.LongConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 点赞切换压测
+ *
+ * <p>
+ * 多线程对同一热点帖子反复点赞 / 取消点赞，对比旧实现（JVM 锁 + 先查询再插入 / 删除）
+ * 与基于唯一键的 INSERT IGNORE / 条件 DELETE 实现的吞吐量，并校验点赞数与点赞记录一致。
+ * 压测时关闭点赞数聚合写（post.counter.enabled=false），两种实现都逐次更新点赞数，只对比点赞记录的写法。
+ * 需连接数据库，默认不执行，使用 mvn test -Dtest=PostLikeLoadTest -DloadTest=true 手动运行。
+ * </p>
+ */
+@SpringBootTest(properties = "post.counter.enabled=false")
+@EnabledIfSystemProperty(named = "loadTest", matches = "true")
+@Slf4j
+class PostLikeLoadTest {
+
+    private static final int THREADS = 32;
+
+    /**
+     * 用户数小于线程数，多个线程并发切换同一 (userId, postId)，校验唯一键 + INSERT IGNORE / 条件 DELETE 在无进程内锁时仍保持一致
+     */
+    private static final int USERS = 8;
+
+    private static final int TOGGLES_PER_THREAD = 200;
+
+    /**
+     * 压测用户 ID 起始值，避免与真实数据冲突
+     */
+    private static final long USER_ID_BASE = 900_000_000L;
+
+    @Resource
+    private PostService postService;
+
+    @Resource
+    private PostLikeService postLikeService;
+
+    private long postId;
+
+    @BeforeEach
+    void setUp() {
+        Post post = new Post();
+        post.setTitle("load test");
+        post.setContent("load test");
+        post.setUserId(USER_ID_BASE);
+        post.setLikeCount(0);
+        post.setCollectCount(0);
+        postService.save(post);
+        postId = post.getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        postLikeService.remove(new QueryWrapper<PostLike>().eq("postId", postId));
+        postService.removeById(postId);
+    }
+
+    @Test
+    void toggleThroughput() throws Exception {
+        double legacyOps = run(this::legacyToggle);
+        postLikeService.remove(new QueryWrapper<PostLike>().eq("postId", postId));
+        postService.update().eq("id", postId).set("likeCount", 0).update();
+
+        double ops = run(userId -> postLikeService.doPostLikeInner(userId, postId));
+        log.info("like toggle throughput: legacy {} ops/s, insert-ignore {} ops/s ({}x)",
+                String.format("%.0f", legacyOps), String.format("%.0f", ops), String.format("%.2f", ops / legacyOps));
+
+        // 聚合写已关闭，点赞数应与点赞记录数一致
+        long likeRecordCount = postLikeService.count(new QueryWrapper<PostLike>().eq("postId", postId));
+        assertEquals(likeRecordCount, postService.getById(postId).getLikeCount().longValue());
+    }
+
+    /**
+     * 多线程执行切换操作
+     *
+     * @return 每秒操作数
+     */
+    private double run(LongConsumer toggle) throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futureList = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int i = 0; i < THREADS; i++) {
+            long userId = USER_ID_BASE + i % USERS;
+            futureList.add(executorService.submit(() -> {
+                for (int j = 0; j < TOGGLES_PER_THREAD; j++) {
+                    toggle.accept(userId);
+                }
+            }));
+        }
+        for (Future<?> future : futureList) {
+            future.get();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        executorService.shutdown();
+        return THREADS * TOGGLES_PER_THREAD / seconds;
+    }
+
+    /**
+     * 旧实现：按用户加 JVM 锁，先查询点赞记录，再插入 / 删除并逐次更新点赞数
+     */
+    private void legacyToggle(long userId) {
+        synchronized (String.valueOf(userId).intern()) {
+            QueryWrapper<PostLike> queryWrapper = new QueryWrapper<PostLike>()
+                    .eq("userId", userId)
+                    .eq("postId", postId);
+            if (postLikeService.getOne(queryWrapper) != null) {
+                postLikeService.remove(queryWrapper);
+                postService.update().eq("id", postId).gt("likeCount", 0)
+                        .setSql("likeCount = likeCount - 1").update();
+            } else {
+                PostLike postLike = new PostLike();
+                postLike.setUserId(userId);
+                postLike.setPostId(postId);
+                postLikeService.save(postLike);
+                postService.update().eq("id", postId)
+                        .setSql("likeCount = likeCount + 1").update();
+            }
+        }
+    }
+}